@@ -24,7 +24,7 @@ import java.util.*;
  * ║  Completen las secciones TODO. NO renombren la clase.       ║
  * ╚══════════════════════════════════════════════════════════════╝
  */
-public class BFSSolver implements MazeSolver {
+public class BFSSolver implements MazeSolver, Checkpointable {
 
     // La cuadrícula del laberinto (0 = pared, 1 = camino). NO modificar.
     private int[][] maze;
@@ -72,6 +72,8 @@ public class BFSSolver implements MazeSolver {
         // - Agreguen la celda inicial a la queue
         // - Marquen la celda inicial como visitada
 
+        // Las colecciones se reutilizan entre laberintos (ver reset())
+        limpiar();
         porVisitar.add(start);
         visitadas.add(toKey(start[0], start[1]));
     }
@@ -157,6 +159,37 @@ public class BFSSolver implements MazeSolver {
         return caminoFinal; // ← Reemplacen esto
     }
 
+    /** Celdas que esperan en la queue (LinkedList guarda su tamaño: O(1)). */
+    @Override
+    public int getFrontierSize() {
+        return porVisitar.size();
+    }
+
+    /**
+     * Vacía las colecciones sin soltarlas: un HashMap/HashSet vaciado
+     * conserva su tabla, así que el siguiente laberinto no la vuelve a crecer.
+     */
+    @Override
+    public boolean reset() {
+        limpiar();
+        maze = null;
+        return true;
+    }
+
+    private void limpiar() {
+        porVisitar.clear();
+        visitadas.clear();
+        padre.clear();
+        visitadasEnEstePaso.clear();
+        // Nueva lista: quien ya tiene el camino anterior lo conserva
+        caminoFinal = new LinkedList<>();
+    }
+
+    @Override
+    public boolean guaranteesShortestPath() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "BFS (Queue)";
@@ -174,4 +207,60 @@ public class BFSSolver implements MazeSolver {
 
         Collections.reverse(caminoFinal);
     }
+
+    // ──────────────────────────────────────────
+    //  CHECKPOINTS (--checkpoint / --resume)
+    // ──────────────────────────────────────────
+
+    @Override
+    public void saveState(SolverCheckpoint cp) {
+        int cols = maze[0].length;
+
+        // La frontera en el mismo orden FIFO de la queue
+        cp.frontier = new int[porVisitar.size()];
+        int i = 0;
+        for (int[] cell : porVisitar) {
+            cp.frontier[i++] = cell[0] * cols + cell[1];
+        }
+
+        cp.visited = new long[SolverCheckpoint.bitsetLength(maze.length * cols)];
+        for (long key : visitadas) {
+            int idx = (int) (key >> 32) * cols + (int) key;
+            cp.visited[idx >>> 6] |= 1L << idx;
+        }
+
+        // Un padre por cada bit encendido, en orden ascendente de bit
+        cp.parents = new int[visitadas.size()];
+        int p = 0;
+        for (int w = 0; w < cp.visited.length; w++) {
+            for (long bits = cp.visited[w]; bits != 0; bits &= bits - 1) {
+                int idx = (w << 6) + Long.numberOfTrailingZeros(bits);
+                int[] parent = padre.get(toKey(idx / cols, idx % cols));
+                cp.parents[p++] = parent == null ? -1 : parent[0] * cols + parent[1];
+            }
+        }
+    }
+
+    @Override
+    public void restoreState(SolverCheckpoint cp) {
+        int cols = maze[0].length;
+        limpiar();
+
+        for (int idx : cp.frontier) {
+            porVisitar.add(new int[]{idx / cols, idx % cols});
+        }
+
+        int p = 0;
+        for (int w = 0; w < cp.visited.length; w++) {
+            for (long bits = cp.visited[w]; bits != 0; bits &= bits - 1) {
+                int idx = (w << 6) + Long.numberOfTrailingZeros(bits);
+                long key = toKey(idx / cols, idx % cols);
+                visitadas.add(key);
+                int parent = cp.parents[p++];
+                if (parent >= 0) {
+                    padre.put(key, new int[]{parent / cols, parent % cols});
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
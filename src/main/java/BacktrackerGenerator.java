@@ -0,0 +1,54 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * Recursive backtracker (randomized depth-first search), run iteratively
+ * with an explicit stack. Produces long, winding corridors. This is the
+ * original generator and remains the default: for the same seed it
+ * carves exactly the same mazes as before generators were pluggable.
+ */
+public class BacktrackerGenerator implements MazeGenerator {
+
+    @Override
+    public int[][] generate(int size, Random rng) {
+        int[][] maze = new int[size][size];
+        int[][] carveDirs = {{0, 2}, {0, -2}, {2, 0}, {-2, 0}};
+
+        Stack<int[]> stack = new Stack<>();
+        maze[1][1] = 1;
+        stack.push(new int[]{1, 1});
+
+        while (!stack.isEmpty()) {
+            int[] current = stack.peek();
+            int cr = current[0], cc = current[1];
+
+            List<int[]> unvisited = new ArrayList<>();
+            for (int[] dir : carveDirs) {
+                int nr = cr + dir[0], nc = cc + dir[1];
+                if (nr > 0 && nr < size - 1 && nc > 0 && nc < size - 1
+                        && maze[nr][nc] == 0) {
+                    unvisited.add(dir);
+                }
+            }
+
+            if (!unvisited.isEmpty()) {
+                int[] dir = unvisited.get(rng.nextInt(unvisited.size()));
+                int br = cr + dir[0] / 2, bc = cc + dir[1] / 2;
+                int nr = cr + dir[0],     nc = cc + dir[1];
+                maze[br][bc] = 1;
+                maze[nr][nc] = 1;
+                stack.push(new int[]{nr, nc});
+            } else {
+                stack.pop();
+            }
+        }
+        return maze;
+    }
+
+    @Override
+    public String getName() {
+        return "backtracker";
+    }
+}
@@ -0,0 +1,362 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                    BeamSearchSolver                         ║
+ * ║     BFS layer by layer, at most W cells kept per layer      ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Explores the maze one BFS layer at a time without a visited set. A
+ * grid is bipartite, so every neighbour of a cell at distance k is at
+ * distance k - 1 or k + 1: leaving out the cells of the previous layer
+ * is enough to produce exactly the next one ("frontier search"). Only
+ * two layers are kept, as sorted long[] keys of h << 32 | cell, where
+ * h is the Manhattan distance to the end.
+ *
+ * When a layer has more than W (the beam width) cells, only the W with
+ * the smallest h are kept. As long as no layer is ever cut, this IS a
+ * BFS and the path is a shortest one; after a cut the beam may wander,
+ * miss the end or find a longer path, and isOptimal() says so.
+ *
+ * The path is rebuilt from a pool of (cell, parent) nodes, one per beam
+ * cell. When the pool fills up, nodes that no cell of the current
+ * layer descends from are dropped and the rest are compacted: beam
+ * lineages merge quickly, so what survives is about one path plus a
+ * few layers' worth of branches.
+ *
+ * The budget (setMaxMemory) pays for the layers (64 bytes per beam slot)
+ * and the node pool (12 bytes per node); by default a quarter of it goes
+ * to the layers. setBeamWidth() fixes the width instead.
+ *
+ * Each step() expands one cell of the current layer.
+ */
+public class BeamSearchSolver implements MemoryBoundedSolver {
+
+    /** Budget used when setMaxMemory() is not called. */
+    public static final long DEFAULT_MAX_MEMORY = 64L << 20;
+
+    private static final int SLOT_BYTES = 64;  // 3 long key arrays, 2 int node arrays, 4 long candidates
+    private static final int NODE_BYTES = 12;  // cell, parent, and the remap array of the compaction
+
+    private long maxMemory = DEFAULT_MAX_MEMORY;
+    private int fixedWidth;                    // 0 = from the budget
+
+    private PackedGrid grid;
+    private int rows, cols;
+    private int startCell, endCell, endRow, endCol;
+    private int width;
+
+    // Layers: sorted keys (h << 32 | cell) and the node of each slot
+    private long[] keys = new long[0], prevKeys = new long[0], nextKeys = new long[0];
+    private int[] nodes = new int[0], nextNodes = new int[0];
+    private int layerSize, prevSize, pos;
+    private long[] candidates = new long[0];
+    private int candidateCount;
+    private long layers, maxLayers;
+
+    // Node pool: parent < child always, which the compaction relies on
+    private int[] nodeCell = new int[0], nodeParent = new int[0], remap = new int[0];
+    private int nodeCount;
+
+    private int foundNode;
+    private boolean done, pruned;
+    private long peakMemory;
+
+    private final int[] lastCell = new int[2];
+    private boolean hasLastCell;
+    private final List<int[]> visitedThisStep = new AbstractList<int[]>() {
+        @Override
+        public int[] get(int i) {
+            return lastCell;
+        }
+
+        @Override
+        public int size() {
+            return hasLastCell ? 1 : 0;
+        }
+    };
+
+    @Override
+    public void setMaxMemory(long bytes) {
+        this.maxMemory = Math.max(1024, bytes);
+    }
+
+    /** Beam width for the next solve; 0 = a quarter of the budget. */
+    public void setBeamWidth(int width) {
+        this.fixedWidth = Math.max(0, width);
+    }
+
+    @Override
+    public void init(int[][] maze, int[] start, int[] end) {
+        init(PackedGrid.fromMaze(maze), start, end);
+    }
+
+    @Override
+    public void init(PackedGrid grid, int[] start, int[] end) {
+        long cells = (long) grid.rows * grid.cols;
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException(grid.rows + "x" + grid.cols + " has more than " +
+                    MAX_CELLS + " cells; int cell indices would overflow");
+        }
+        this.grid = grid;
+        this.rows = grid.rows;
+        this.cols = grid.cols;
+
+        // Layers get a quarter of the budget (at most half with a fixed width)
+        long w = fixedWidth > 0 ? Math.min(fixedWidth, maxMemory / 2 / SLOT_BYTES)
+                : maxMemory / 4 / SLOT_BYTES;
+        width = (int) Math.max(1, Math.min(w, cells));
+        long pool = (maxMemory - (long) width * SLOT_BYTES) / NODE_BYTES;
+        // Without cuts every cell gets one node, so more than cells + width is never used
+        int poolSize = (int) Math.max(width, Math.min(pool, Math.min(cells + width, 1L << 30)));
+
+        if (keys.length < width) {
+            keys = new long[width];
+            prevKeys = new long[width];
+            nextKeys = new long[width];
+            nodes = new int[width];
+            nextNodes = new int[width];
+            candidates = new long[4 * width];
+        }
+        if (nodeCell.length != poolSize) {
+            nodeCell = new int[poolSize];
+            nodeParent = new int[poolSize];
+            remap = new int[poolSize];
+        }
+        peakMemory = (long) keys.length * SLOT_BYTES + (long) poolSize * NODE_BYTES;
+
+        startCell = start[0] * cols + start[1];
+        endCell = end[0] * cols + end[1];
+        endRow = end[0];
+        endCol = end[1];
+
+        nodeCount = 0;
+        keys[0] = key(start[0], start[1]);
+        nodes[0] = newNode(startCell, -1);
+        layerSize = 1;
+        prevSize = 0;
+        pos = 0;
+        candidateCount = 0;
+        layers = 0;
+        // A beam that was cut can walk in circles; no path is longer than this
+        maxLayers = cells;
+        foundNode = -1;
+        done = pruned = false;
+        hasLastCell = false;
+    }
+
+    @Override
+    public boolean step() {
+        hasLastCell = false;
+        if (done) return true;
+        if (pos == layerSize) {
+            nextLayer();
+            if (done) return true;
+        }
+
+        int slot = pos++;
+        int cur = (int) keys[slot];
+        int r = cur / cols, c = cur - r * cols;
+        setLastCell(r, c);
+        if (cur == endCell) {
+            foundNode = nodes[slot];
+            done = true;
+            return true;
+        }
+
+        if (r > 0        && grid.isOpen(r - 1, c)) offer(r - 1, c);
+        if (r < rows - 1 && grid.isOpen(r + 1, c)) offer(r + 1, c);
+        if (c > 0        && grid.isOpen(r, c - 1)) offer(r, c - 1);
+        if (c < cols - 1 && grid.isOpen(r, c + 1)) offer(r, c + 1);
+        return false;
+    }
+
+    /** Adds a cell to the candidates of the next layer unless it is in the previous one. */
+    private void offer(int r, int c) {
+        long k = key(r, c);
+        if (Arrays.binarySearch(prevKeys, 0, prevSize, k) >= 0) return;
+        candidates[candidateCount++] = k;
+    }
+
+    /** Sorts and dedups the candidates, keeps the best {@code width}, and makes them the layer. */
+    private void nextLayer() {
+        if (candidateCount == 0 || ++layers > maxLayers) {
+            done = true;  // foundNode stays -1: no path
+            return;
+        }
+
+        Arrays.sort(candidates, 0, candidateCount);
+        int n = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (n == 0 || candidates[i] != nextKeys[n - 1]) {
+                if (n == width) {
+                    pruned = true;
+                    break;
+                }
+                nextKeys[n++] = candidates[i];
+            }
+        }
+        candidateCount = 0;
+
+        if (nodeCount + n > nodeCell.length) {
+            compactNodes();
+            if (nodeCount + n > nodeCell.length) {
+                pruned = true;  // out of budget for the path itself
+                done = true;
+                return;
+            }
+        }
+
+        // Each new cell descends from a neighbour in the current layer
+        for (int i = 0; i < n; i++) {
+            int cell = (int) nextKeys[i];
+            nextNodes[i] = newNode(cell, nodes[parentSlot(cell)]);
+        }
+
+        long[] oldPrev = prevKeys;
+        prevKeys = keys;
+        prevSize = layerSize;
+        keys = nextKeys;
+        nextKeys = oldPrev;
+        int[] oldNodes = nodes;
+        nodes = nextNodes;
+        nextNodes = oldNodes;
+        layerSize = n;
+        pos = 0;
+    }
+
+    /** Slot of the current layer holding a neighbour of {@code cell}. */
+    private int parentSlot(int cell) {
+        int r = cell / cols, c = cell - r * cols;
+        int slot = -1;
+        if (r > 0)        slot = Math.max(slot, Arrays.binarySearch(keys, 0, layerSize, key(r - 1, c)));
+        if (r < rows - 1) slot = Math.max(slot, Arrays.binarySearch(keys, 0, layerSize, key(r + 1, c)));
+        if (c > 0)        slot = Math.max(slot, Arrays.binarySearch(keys, 0, layerSize, key(r, c - 1)));
+        if (c < cols - 1) slot = Math.max(slot, Arrays.binarySearch(keys, 0, layerSize, key(r, c + 1)));
+        return slot;
+    }
+
+    private long key(int r, int c) {
+        long h = Math.abs(r - endRow) + Math.abs(c - endCol);
+        return h << 32 | (r * cols + c);
+    }
+
+    // ─────────────────────────────────────────────
+    //  NODE POOL
+    // ─────────────────────────────────────────────
+
+    private int newNode(int cell, int parent) {
+        nodeCell[nodeCount] = cell;
+        nodeParent[nodeCount] = parent;
+        return nodeCount++;
+    }
+
+    /** Drops the nodes no cell of the current layer descends from. */
+    private void compactNodes() {
+        Arrays.fill(remap, 0, nodeCount, -1);
+        for (int i = 0; i < layerSize; i++) {
+            for (int n = nodes[i]; n >= 0 && remap[n] == -1; n = nodeParent[n]) {
+                remap[n] = 0;  // live
+            }
+        }
+        // Parents come before children, so their new index is always known
+        int kept = 0;
+        for (int n = 0; n < nodeCount; n++) {
+            if (remap[n] == -1) continue;
+            int parent = nodeParent[n];
+            nodeCell[kept] = nodeCell[n];
+            nodeParent[kept] = parent >= 0 ? remap[parent] : -1;
+            remap[n] = kept++;
+        }
+        for (int i = 0; i < layerSize; i++) nodes[i] = remap[nodes[i]];
+        nodeCount = kept;
+    }
+
+    // ─────────────────────────────────────────────
+    //  RESULTS
+    // ─────────────────────────────────────────────
+
+    @Override
+    public List<int[]> getPath() {
+        if (foundNode < 0) return Collections.emptyList();
+        int length = 0;
+        for (int n = foundNode; n >= 0; n = nodeParent[n]) length++;
+        int[] cells = new int[length];
+        for (int n = foundNode, i = length - 1; n >= 0; n = nodeParent[n], i--) {
+            cells[i] = nodeCell[n];
+        }
+        length = eraseLoops(cells);
+
+        int[][] path = new int[length][];
+        for (int i = 0; i < length; i++) {
+            path[i] = new int[]{cells[i] / cols, cells[i] % cols};
+        }
+        return Arrays.asList(path);
+    }
+
+    /**
+     * A beam that was cut can come back to a cell it already passed;
+     * cuts such loops out of {@code cells} in place and returns the new
+     * length. Uses an open-addressing cell → index table.
+     */
+    private static int eraseLoops(int[] cells) {
+        int capacity = Integer.highestOneBit(Math.max(2, cells.length * 2 - 1)) << 1;
+        int[] tableCell = new int[capacity];
+        int[] tableIndex = new int[capacity];
+        Arrays.fill(tableCell, -1);
+        int mask = capacity - 1;
+
+        int n = 0;
+        for (int cell : cells) {
+            int slot = (cell * 0x9E3779B1) & mask;
+            while (tableCell[slot] != -1 && tableCell[slot] != cell) slot = (slot + 1) & mask;
+            int seen = tableCell[slot] == cell ? tableIndex[slot] : -1;
+            if (seen >= 0 && seen < n && cells[seen] == cell) {
+                n = seen + 1;  // back at an earlier cell: drop the loop
+            } else {
+                tableCell[slot] = cell;
+                tableIndex[slot] = n;
+                cells[n++] = cell;
+            }
+        }
+        return n;
+    }
+
+    private void setLastCell(int r, int c) {
+        lastCell[0] = r;
+        lastCell[1] = c;
+        hasLastCell = true;
+    }
+
+    @Override
+    public long getPeakMemory() {
+        return peakMemory;
+    }
+
+    @Override
+    public boolean isOptimal() {
+        return !pruned;
+    }
+
+    @Override
+    public boolean reset() {
+        grid = null; // layers and the node pool are kept for the next maze
+        hasLastCell = false;
+        done = false;
+        foundNode = -1;
+        return true;
+    }
+
+    @Override
+    public List<int[]> getVisitedThisStep() {
+        return visitedThisStep;
+    }
+
+    @Override
+    public String getName() {
+        return "Beam search (width " + (width > 0 ? width : "auto") + ")";
+    }
+}
@@ -0,0 +1,260 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                  BitParallelBFSSolver                       ║
+ * ║        Whole BFS levels at once, 64 cells per long          ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * The maze, the frontier and the visited set are all {@link PackedGrid}
+ * style bit rows. One BFS level is computed word by word:
+ *
+ *   next = (up | down | left | right)(frontier) & open & ~visited
+ *
+ * where up/down read the same word of the neighbouring rows and
+ * left/right are 1-bit shifts with the carry taken from the adjacent
+ * word. Each word op handles 64 cells at once in plain long[]
+ * arithmetic, so no incubator modules are needed.
+ *
+ * Only words next to a non-empty frontier word are recomputed, so the
+ * long, thin, scattered wavefronts of corridor mazes stay cheap: total
+ * work is proportional to the frontier, not to levels × grid size.
+ *
+ * PATH RECOVERY:
+ *   Every newly reached cell is tagged with (level mod 3) in a byte per
+ *   cell. Neighbouring cells are always at level L-1, L or L+1, so
+ *   walking back from the goal and always stepping to the neighbour
+ *   tagged (L-1) mod 3 rebuilds a shortest path without parent pointers.
+ *
+ * STEPPING:
+ *   One step() = one whole BFS level. getVisitedThisStep() returns the
+ *   cells of that level (built on demand, so benchmarks that never ask
+ *   for it don't pay for the lists).
+ */
+public class BitParallelBFSSolver implements MazeSolver {
+
+    private static final byte UNTAGGED = 3;
+
+    private int rows, cols, words;
+    private long[] open = new long[0];
+    private long[] visited = new long[0];
+    private long[] frontier = new long[0];
+    private long[] next = new long[0];
+    private byte[] tag = new byte[0];
+
+    // Words that hold frontier bits, and scratch for the words to recompute
+    private int[] activeWords = new int[0], nextActiveWords = new int[0];
+    private int activeCount;
+    private int[] candidateWords = new int[0];
+    private int[] wordStamp = new int[0];
+    private int stamp;
+
+    // Cells discovered in the last level (linear indices)
+    private int[] discovered = new int[0];
+    private int discoveredCount;
+
+    private int startCell, endCell;
+    private int level;
+    private List<int[]> path = Collections.emptyList();
+
+    @Override
+    public void init(int[][] maze, int[] start, int[] end) {
+        rows = maze.length;
+        cols = maze[0].length;
+        words = (cols + 63) >>> 6;
+        int total = rows * words;
+        int cells = rows * cols;
+
+        if (open.length < total) {
+            open = new long[total];
+            visited = new long[total];
+            frontier = new long[total];
+            next = new long[total];
+            activeWords = new int[total];
+            nextActiveWords = new int[total];
+            candidateWords = new int[total];
+            wordStamp = new int[total];
+        } else {
+            Arrays.fill(open, 0, total, 0L);
+            Arrays.fill(visited, 0, total, 0L);
+            Arrays.fill(frontier, 0, total, 0L);
+            Arrays.fill(next, 0, total, 0L);
+        }
+        if (tag.length < cells) {
+            tag = new byte[cells];
+            discovered = new int[cells];
+        }
+        Arrays.fill(tag, 0, cells, UNTAGGED);
+        Arrays.fill(wordStamp, 0, total, 0);
+        stamp = 0;
+
+        // Same packing as PackedGrid.fromMaze, straight into the reused array
+        for (int r = 0; r < rows; r++) {
+            int[] row = maze[r];
+            int base = r * words;
+            for (int c = 0; c < cols; c++) {
+                if (row[c] == 1) open[base + (c >>> 6)] |= 1L << c;
+            }
+        }
+
+        startCell = start[0] * cols + start[1];
+        endCell = end[0] * cols + end[1];
+        level = 0;
+        path = Collections.emptyList();
+
+        setBit(visited, start[0], start[1]);
+        setBit(frontier, start[0], start[1]);
+        tag[startCell] = 0;
+        activeWords[0] = start[0] * words + (start[1] >>> 6);
+        activeCount = 1;
+        discovered[0] = startCell;
+        discoveredCount = 1;
+
+        if (startCell == endCell) {
+            activeCount = 0;
+            path = reconstructPath();
+        }
+    }
+
+    @Override
+    public boolean step() {
+        discoveredCount = 0;
+        if (activeCount == 0) {
+            return true;
+        }
+
+        // ── Words to recompute: every frontier word and its 4 neighbours ──
+        stamp++;
+        int candidates = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int w = activeWords[i];
+            int r = w / words, k = w - r * words;
+            candidates = addCandidate(w, candidates);
+            if (k > 0)         candidates = addCandidate(w - 1, candidates);
+            if (k < words - 1) candidates = addCandidate(w + 1, candidates);
+            if (r > 0)         candidates = addCandidate(w - words, candidates);
+            if (r < rows - 1)  candidates = addCandidate(w + words, candidates);
+        }
+
+        // ── One BFS level, a word at a time ──
+        byte nextTag = (byte) ((level + 1) % 3);
+        int nextActive = 0;
+        for (int i = 0; i < candidates; i++) {
+            int w = candidateWords[i];
+            int r = w / words, k = w - r * words;
+            long f = frontier[w];
+            long spread = (f << 1) | (f >>> 1);
+            if (k > 0)         spread |= frontier[w - 1] >>> 63;
+            if (k < words - 1) spread |= frontier[w + 1] << 63;
+            if (r > 0)         spread |= frontier[w - words];
+            if (r < rows - 1)  spread |= frontier[w + words];
+
+            long n = spread & open[w] & ~visited[w];
+            if (n != 0) {
+                next[w] = n;
+                visited[w] |= n;
+                nextActiveWords[nextActive++] = w;
+                int rowCell = r * cols + (k << 6);
+                for (long bits = n; bits != 0; bits &= bits - 1) {
+                    int cell = rowCell + Long.numberOfTrailingZeros(bits);
+                    tag[cell] = nextTag;
+                    discovered[discoveredCount++] = cell;
+                }
+            }
+        }
+
+        // ── Old frontier becomes the (zeroed) scratch buffer ──
+        for (int i = 0; i < activeCount; i++) {
+            frontier[activeWords[i]] = 0L;
+        }
+        long[] tmp = frontier; frontier = next; next = tmp;
+        int[] tmpWords = activeWords; activeWords = nextActiveWords; nextActiveWords = tmpWords;
+        activeCount = nextActive;
+        level++;
+
+        if (tag[endCell] != UNTAGGED) {
+            path = reconstructPath();
+            activeCount = 0;
+            return true;
+        }
+        return activeCount == 0;
+    }
+
+    private int addCandidate(int w, int count) {
+        if (wordStamp[w] != stamp) {
+            wordStamp[w] = stamp;
+            candidateWords[count++] = w;
+        }
+        return count;
+    }
+
+    /** Backward sweep from the goal over the (level mod 3) tags. */
+    private List<int[]> reconstructPath() {
+        int length = level + 1;
+        int[] cells = new int[length];
+        int cur = endCell;
+        for (int l = level; l > 0; l--) {
+            cells[l] = cur;
+            byte want = (byte) ((l - 1) % 3);
+            int r = cur / cols, c = cur - r * cols;
+            if      (r > 0        && tag[cur - cols] == want) cur -= cols;
+            else if (r < rows - 1 && tag[cur + cols] == want) cur += cols;
+            else if (c > 0        && tag[cur - 1]    == want) cur -= 1;
+            else                                              cur += 1;
+        }
+        cells[0] = cur;
+
+        List<int[]> result = new ArrayList<>(length);
+        for (int cell : cells) {
+            result.add(new int[]{cell / cols, cell % cols});
+        }
+        return result;
+    }
+
+    private void setBit(long[] grid, int r, int c) {
+        grid[r * words + (c >>> 6)] |= 1L << c;
+    }
+
+    @Override
+    public List<int[]> getVisitedThisStep() {
+        final int[] cells = discovered;
+        final int count = discoveredCount;
+        return new AbstractList<int[]>() {
+            @Override
+            public int[] get(int i) {
+                int cell = cells[i];
+                return new int[]{cell / cols, cell % cols};
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public List<int[]> getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean reset() {
+        path = Collections.emptyList(); // all bitsets are kept for the next maze
+        return true;
+    }
+
+    @Override
+    public boolean guaranteesShortestPath() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Bit-parallel BFS";
+    }
+}
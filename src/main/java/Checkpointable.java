@@ -0,0 +1,28 @@
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                     Checkpointable                          ║
+ * ║     Optional extension for solvers that can be resumed      ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Solvers that implement this interface can have their in-progress
+ * state written to disk by MazeManager (--checkpoint) and continued
+ * later (--resume). See {@link SolverCheckpoint} for the array layout.
+ *
+ * A restored solver must behave exactly like the original one would
+ * have from that step on: same expansion order, same final path.
+ */
+public interface Checkpointable {
+
+    /**
+     * Fill {@code cp.frontier}, {@code cp.visited} and {@code cp.parents}
+     * with the current search state. The maze dimensions in {@code cp}
+     * are already set by the caller.
+     */
+    void saveState(SolverCheckpoint cp);
+
+    /**
+     * Replace the current search state with the one stored in {@code cp}.
+     * Called right after {@link MazeSolver#init} on the same maze.
+     */
+    void restoreState(SolverCheckpoint cp);
+}
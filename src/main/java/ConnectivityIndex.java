@@ -0,0 +1,282 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                   ConnectivityIndex                         ║
+ * ║     Component id per cell: "is there a path?" in O(1)       ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Many callers only need to know WHETHER end can be reached from start,
+ * not the path itself. A full BFS answers that in O(cells) per query;
+ * this index labels every open cell with the id of its connected
+ * component once, after which any query is two array reads:
+ *
+ *   ConnectivityIndex index = ConnectivityIndex.build(maze, threads);
+ *   index.isReachable(start, end);
+ *
+ * build() is a union-find over linear cells (r * cols + c), split into
+ * horizontal stripes of rows like KruskalGenerator:
+ *   1. Each stripe joins its open cells to their right and lower
+ *      neighbours inside the stripe, in parallel. Stripes touch disjoint
+ *      parts of the parent array, so a plain int[] is enough.
+ *   2. The seams between stripes are joined in one pass.
+ *   3. Every cell is labelled with its root, again one stripe per thread
+ *      (find() only reads from here on).
+ * union() links the smaller tree under the larger one and halves paths
+ * on the way up, so trees stay O(log cells) deep even without
+ * compressing in the read-only find() of step 3.
+ *
+ * openCell() keeps the labels exact when a wall is removed later: the
+ * new cell joins its open neighbours, and the SMALLER components are
+ * relabelled into the largest one with a flood fill. A cell changes
+ * label only when its component at least doubles, so any sequence of
+ * removals costs O(cells · log cells) in total, and queries stay O(1).
+ *
+ * Component ids are cell indices (the root of the component), -1 for walls.
+ */
+public final class ConnectivityIndex {
+
+    public final int rows;
+    public final int cols;
+
+    private final int[] component;   // component id per cell, -1 = wall
+    private final int[] size;        // cells per component, indexed by id
+    private int components;
+    private int[] queue = new int[64];
+
+    private ConnectivityIndex(int rows, int cols, int[] component, int[] size, int components) {
+        this.rows = rows;
+        this.cols = cols;
+        this.component = component;
+        this.size = size;
+        this.components = components;
+    }
+
+    /** Labels the connected open cells of {@code maze} using {@code threads} stripes. */
+    public static ConnectivityIndex build(int[][] maze, int threads) {
+        int rows = maze.length, cols = maze[0].length;
+        int n = rows * cols;
+        int[] parent = new int[n];
+        int[] size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+
+        int stripeRows = (rows + Math.max(1, threads) - 1) / Math.max(1, threads);
+        int stripes = (rows + stripeRows - 1) / stripeRows;
+        int[] component = new int[n];
+
+        ExecutorService pool = stripes > 1 ? Executors.newFixedThreadPool(stripes) : null;
+        try {
+            // ── 1. Union inside each stripe ──
+            forEachStripe(pool, stripes, stripeRows, rows, (y0, y1) -> {
+                for (int r = y0; r < y1; r++) {
+                    int[] row = maze[r];
+                    int[] below = r + 1 < y1 ? maze[r + 1] : null;
+                    int base = r * cols;
+                    for (int c = 0; c < cols; c++) {
+                        if (row[c] != 1) continue;
+                        if (c + 1 < cols && row[c + 1] == 1) union(parent, size, base + c, base + c + 1);
+                        if (below != null && below[c] == 1) union(parent, size, base + c, base + cols + c);
+                    }
+                }
+            });
+
+            // ── 2. Seams between stripes ──
+            for (int s = 1; s < stripes; s++) {
+                int r = s * stripeRows - 1;
+                int[] above = maze[r], below = maze[r + 1];
+                for (int c = 0; c < cols; c++) {
+                    if (above[c] == 1 && below[c] == 1) {
+                        union(parent, size, r * cols + c, (r + 1) * cols + c);
+                    }
+                }
+            }
+
+            // ── 3. Label every cell with its root ──
+            forEachStripe(pool, stripes, stripeRows, rows, (y0, y1) -> {
+                for (int r = y0; r < y1; r++) {
+                    int[] row = maze[r];
+                    int base = r * cols;
+                    for (int c = 0; c < cols; c++) {
+                        component[base + c] = row[c] == 1 ? find(parent, base + c) : -1;
+                    }
+                }
+            });
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+
+        // Roots already hold the size of their tree; the parent array can go
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (component[i] == i) count++;
+        }
+        return new ConnectivityIndex(rows, cols, component, size, count);
+    }
+
+    private interface StripeJob {
+        void run(int y0, int y1);
+    }
+
+    private static void forEachStripe(ExecutorService pool, int stripes, int stripeRows,
+                                      int rows, StripeJob job) {
+        if (pool == null) {
+            job.run(0, rows);
+            return;
+        }
+        try {
+            List<Future<?>> jobs = new ArrayList<>();
+            for (int s = 0; s < stripes; s++) {
+                int y0 = s * stripeRows, y1 = Math.min(rows, y0 + stripeRows);
+                jobs.add(pool.submit(() -> job.run(y0, y1)));
+            }
+            for (Future<?> f : jobs) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    //  UNION-FIND (build only)
+    // ─────────────────────────────────────────────
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) x = parent[x];
+        return x;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        // Path halving on the way up, as in KruskalGenerator
+        while (parent[a] != a) a = parent[a] = parent[parent[a]];
+        while (parent[b] != b) b = parent[b] = parent[parent[b]];
+        if (a == b) return;
+        if (size[a] < size[b]) {
+            int t = a; a = b; b = t;
+        }
+        parent[b] = a;
+        size[a] += size[b];
+    }
+
+    // ─────────────────────────────────────────────
+    //  QUERIES
+    // ─────────────────────────────────────────────
+
+    /** True if both cells are open and connected. O(1). */
+    public boolean isReachable(int r1, int c1, int r2, int c2) {
+        int a = component[r1 * cols + c1];
+        return a >= 0 && a == component[r2 * cols + c2];
+    }
+
+    public boolean isReachable(int[] from, int[] to) {
+        return isReachable(from[0], from[1], to[0], to[1]);
+    }
+
+    /** Component id of (r, c), or -1 for a wall. */
+    public int componentOf(int r, int c) {
+        return component[r * cols + c];
+    }
+
+    /** Number of open cells connected to (r, c), 0 for a wall. */
+    public int componentSize(int r, int c) {
+        int id = component[r * cols + c];
+        return id >= 0 ? size[id] : 0;
+    }
+
+    public int getComponentCount() {
+        return components;
+    }
+
+    // ─────────────────────────────────────────────
+    //  INCREMENTAL UPDATES
+    // ─────────────────────────────────────────────
+
+    /**
+     * Records that wall cell (r, c) was opened (the caller sets
+     * maze[r][c] = 1 itself). The cell joins the components around it,
+     * which are merged into the largest of them.
+     *
+     * @return false if (r, c) was already open
+     */
+    public boolean openCell(int r, int c) {
+        int cell = r * cols + c;
+        if (component[cell] >= 0) return false;
+
+        int[] around = new int[4];
+        int n = 0;
+        if (r > 0)        n = addNeighbour(around, n, cell - cols);
+        if (r < rows - 1) n = addNeighbour(around, n, cell + cols);
+        if (c > 0)        n = addNeighbour(around, n, cell - 1);
+        if (c < cols - 1) n = addNeighbour(around, n, cell + 1);
+
+        if (n == 0) {
+            // An island of its own
+            component[cell] = cell;
+            size[cell] = 1;
+            components++;
+            return true;
+        }
+
+        int keep = around[0];
+        for (int i = 1; i < n; i++) {
+            if (size[around[i]] > size[keep]) keep = around[i];
+        }
+        component[cell] = keep;
+        size[keep]++;
+        for (int i = 0; i < n; i++) {
+            int id = around[i];
+            if (id == keep) continue;
+            size[keep] += relabel(id, keep);
+            size[id] = 0;
+            components--;
+        }
+        return true;
+    }
+
+    /** Adds the component of {@code cell} to {@code ids} if open and not there yet. */
+    private int addNeighbour(int[] ids, int n, int cell) {
+        int id = component[cell];
+        if (id < 0) return n;
+        for (int i = 0; i < n; i++) {
+            if (ids[i] == id) return n;
+        }
+        ids[n] = id;
+        return n + 1;
+    }
+
+    /** Flood-fills component {@code from} (reached through its root cell) into {@code to}. */
+    private int relabel(int from, int to) {
+        // The root cell always belongs to its component, so start the fill there
+        int head = 0, tail = 0, count = 0;
+        queue[tail++] = from;
+        component[from] = to;
+        while (head < tail) {
+            int cur = queue[head++];
+            count++;
+            int r = cur / cols, c = cur % cols;
+            if (r > 0)        tail = push(cur - cols, from, to, tail);
+            if (r < rows - 1) tail = push(cur + cols, from, to, tail);
+            if (c > 0)        tail = push(cur - 1, from, to, tail);
+            if (c < cols - 1) tail = push(cur + 1, from, to, tail);
+        }
+        return count;
+    }
+
+    private int push(int cell, int from, int to, int tail) {
+        if (component[cell] != from) return tail;
+        component[cell] = to;
+        if (tail == queue.length) queue = Arrays.copyOf(queue, tail * 2);
+        queue[tail] = cell;
+        return tail + 1;
+    }
+}
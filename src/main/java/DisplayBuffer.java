@@ -0,0 +1,118 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                      DisplayBuffer                          ║
+ * ║     Lock-free solve state: solver threads → renderer        ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Every solver has its own {@link Lane}, written ONLY by the thread
+ * stepping that solver:
+ *   - visited cells are OR-ed into an AtomicLongArray bitset with a
+ *     release store (single writer, so no CAS is needed)
+ *   - steps, timings, the path and the done flag are volatile fields;
+ *     the done flag is written last, so a reader that sees done=true
+ *     also sees the final path and times
+ *
+ * The render thread copies all lanes into its own {@link Frame} and
+ * draws from that copy. Nobody ever takes a lock, so a slow solver or a
+ * slow terminal never holds back anyone else. Visited bits only ever
+ * get set, so a frame taken mid-step is at worst one step behind.
+ */
+public final class DisplayBuffer {
+
+    /** One solver's live state. */
+    public static final class Lane {
+        private final AtomicLongArray visited;
+        private volatile long steps;
+        private volatile long wallNanos;
+        private volatile List<int[]> path;
+        private volatile boolean done;
+
+        Lane(int cells) {
+            visited = new AtomicLongArray((cells + 63) >>> 6);
+        }
+
+        /** Owning thread only. */
+        public void markVisited(int cell) {
+            int w = cell >>> 6;
+            visited.lazySet(w, visited.get(w) | (1L << cell));
+        }
+
+        /** Owning thread only. */
+        public void countStep() {
+            steps++; // single writer: the read-modify-write cannot race
+        }
+
+        /** Owning thread only; publishes the final state. */
+        public void finish(List<int[]> path, long wallNanos) {
+            this.path = path;
+            this.wallNanos = wallNanos;
+            this.done = true;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        public long getSteps() {
+            return steps;
+        }
+    }
+
+    /** Everything the renderer needs to draw all solvers at one instant. */
+    public static final class Frame {
+        public final long[][] visited;   // per solver: bitset of linear cells
+        public final long[] steps;
+        public final long[] wallNanos;
+        public final boolean[] done;
+        public final List<int[]>[] paths;
+
+        @SuppressWarnings("unchecked")
+        public Frame(int solvers, int cells) {
+            visited = new long[solvers][(cells + 63) >>> 6];
+            steps = new long[solvers];
+            wallNanos = new long[solvers];
+            done = new boolean[solvers];
+            paths = (List<int[]>[]) new List<?>[solvers];
+        }
+
+        public boolean allDone() {
+            for (boolean d : done) {
+                if (!d) return false;
+            }
+            return true;
+        }
+
+        public boolean isVisited(int solver, int cell) {
+            return (visited[solver][cell >>> 6] & (1L << cell)) != 0;
+        }
+    }
+
+    private final Lane[] lanes;
+
+    public DisplayBuffer(int solvers, int cells) {
+        lanes = new Lane[solvers];
+        for (int i = 0; i < solvers; i++) lanes[i] = new Lane(cells);
+    }
+
+    /** The lane of solver {@code i}, to be written by its thread only. */
+    public Lane lane(int i) {
+        return lanes[i];
+    }
+
+    /** Copies the current state of every lane into {@code into}. */
+    public void read(Frame into) {
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[i];
+            // done first: if set, the path and time written before it are visible
+            into.done[i] = lane.done;
+            into.paths[i] = lane.path;
+            into.wallNanos[i] = lane.wallNanos;
+            into.steps[i] = lane.steps;
+            long[] bits = into.visited[i];
+            for (int w = 0; w < bits.length; w++) bits[w] = lane.visited.get(w);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                     EllerGenerator                          ║
+ * ║       Eller's algorithm: one row at a time, O(width)        ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Eller's algorithm only ever remembers the current row of cells and
+ * which "set" (connected group) each one belongs to:
+ *   1. Randomly join adjacent cells of different sets (opens a wall)
+ *   2. Every set sends at least one cell down into the next row
+ *   3. Cells that were not reached from above start new sets
+ * The last row joins every remaining set, which makes the maze perfect.
+ *
+ * Because nothing but the current row is kept, mazes of any height can
+ * be streamed row by row through a {@link RowSink} — straight into a
+ * memory-mapped {@link PackedGrid} file with {@link #streamTo}.
+ */
+public class EllerGenerator implements MazeGenerator {
+
+    /** Receives the grid rows in order, packed like a {@link PackedGrid} row. */
+    public interface RowSink {
+        void row(int r, long[] bits) throws IOException;
+    }
+
+    @Override
+    public int[][] generate(int size, Random rng) {
+        int[][] maze = new int[size][size];
+        try {
+            stream(size, size, rng, 0.0, (r, bits) -> {
+                for (int c = 0; c < size; c++) {
+                    maze[r][c] = (int) (bits[c >>> 6] >>> c) & 1;
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory sink never throws
+        }
+        return maze;
+    }
+
+    /**
+     * Generates a width × height maze (both odd) and hands every grid row
+     * to {@code sink}. Each closed wall between two cells is additionally
+     * opened with probability {@code removalRatio}, which adds loops the
+     * same way MazeManager.removeWalls does, without needing the whole grid.
+     */
+    public void stream(int width, int height, Random rng, double removalRatio,
+                       RowSink sink) throws IOException {
+        int w = (width - 1) / 2;     // cells per row
+        int h = (height - 1) / 2;    // rows of cells
+        long[] bits = new long[(width + 63) >>> 6];
+
+        int[] set = new int[w];          // compact set id per column, -1 = none
+        int[] parent = new int[w];       // union-find over compact set ids
+        int[] remap = new int[w];        // old id -> compact id, valid when stamped
+        int[] remapStamp = new int[w];
+        boolean[] right = new boolean[w];
+        boolean[] down = new boolean[w];
+        int[] count = new int[w];
+        int[] pick = new int[w];
+        boolean[] anyDown = new boolean[w];
+        Arrays.fill(set, -1);
+
+        sink.row(0, bits); // top border
+
+        for (int y = 0; y < h; y++) {
+            boolean last = (y == h - 1);
+
+            // ── Compact set ids to 0..w-1 and give fresh cells new sets ──
+            int next = 0;
+            for (int x = 0; x < w; x++) {
+                int old = set[x];
+                if (old < 0) {
+                    set[x] = next++;
+                } else {
+                    if (remapStamp[old] != y + 1) {
+                        remapStamp[old] = y + 1;
+                        remap[old] = next++;
+                    }
+                    set[x] = remap[old];
+                }
+            }
+            for (int i = 0; i < next; i++) parent[i] = i;
+
+            // ── 1. Horizontal joins ──
+            for (int x = 0; x < w - 1; x++) {
+                int a = find(parent, set[x]), b = find(parent, set[x + 1]);
+                right[x] = a != b && (last || rng.nextBoolean());
+                if (right[x]) parent[a] = b;
+            }
+            right[w - 1] = false;
+
+            // ── 2. Vertical joins: each set goes down at least once ──
+            if (!last) {
+                for (int x = 0; x < w; x++) {
+                    int s = find(parent, set[x]);
+                    if (count[s] == 0) anyDown[s] = false;
+                    down[x] = rng.nextBoolean();
+                    anyDown[s] |= down[x];
+                    if (rng.nextInt(++count[s]) == 0) pick[s] = x;
+                }
+                for (int x = 0; x < w; x++) {
+                    int s = find(parent, set[x]);
+                    if (count[s] > 0) {
+                        if (!anyDown[s]) down[pick[s]] = true;
+                        count[s] = 0;
+                    }
+                }
+            }
+
+            // ── Emit the cell row and the wall row below it ──
+            Arrays.fill(bits, 0L);
+            for (int x = 0; x < w; x++) {
+                setBit(bits, 2 * x + 1);
+                if (x < w - 1 && (right[x] || braid(rng, removalRatio))) {
+                    setBit(bits, 2 * x + 2);
+                }
+            }
+            sink.row(2 * y + 1, bits);
+
+            Arrays.fill(bits, 0L);
+            if (!last) {
+                for (int x = 0; x < w; x++) {
+                    if (down[x] || braid(rng, removalRatio)) setBit(bits, 2 * x + 1);
+                }
+            }
+            sink.row(2 * y + 2, bits);
+
+            // ── 3. Carry sets into the next row ──
+            for (int x = 0; x < w; x++) {
+                set[x] = (!last && down[x]) ? find(parent, set[x]) : -1;
+            }
+        }
+    }
+
+    /**
+     * Streams a width × height maze straight into a {@link PackedGrid} file,
+     * mapping the output a window at a time. Heap use is O(width) no matter
+     * how tall the maze is.
+     */
+    public void streamTo(Path file, int width, int height, Random rng,
+                         double removalRatio) throws IOException {
+        int wordsPerRow = (width + 63) >>> 6;
+        int rowsPerWindow = (int) Math.max(1, PackedGrid.MAP_WINDOW / ((long) wordsPerRow * Long.BYTES));
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ch.write(PackedGrid.header(height, width));
+
+            LongBuffer[] window = new LongBuffer[1];
+            stream(width, height, rng, removalRatio, (r, bits) -> {
+                if (r % rowsPerWindow == 0) {
+                    long pos = PackedGrid.HEADER_BYTES + (long) r * wordsPerRow * Long.BYTES;
+                    int rows = Math.min(rowsPerWindow, height - r);
+                    window[0] = ch.map(FileChannel.MapMode.READ_WRITE, pos,
+                                    (long) rows * wordsPerRow * Long.BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+                }
+                window[0].put(bits, 0, wordsPerRow);
+            });
+        }
+    }
+
+    private static boolean braid(Random rng, double removalRatio) {
+        return removalRatio > 0 && rng.nextDouble() < removalRatio;
+    }
+
+    private static void setBit(long[] bits, int c) {
+        bits[c >>> 6] |= 1L << c;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    @Override
+    public String getName() {
+        return "eller";
+    }
+}
@@ -0,0 +1,281 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                     ExplorationMap                          ║
+ * ║     Where and when a solver explored, for --heatmap         ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * While a solver runs, record() is called after every step with the
+ * cells from getVisitedThisStep() and getFrontierSize(). It keeps
+ *   - the step (1-based) at which each cell first showed up, in an
+ *     int[] over linear cells r * cols + c; 0 = never
+ *   - how many times a cell showed up again after that (DFS backtracking)
+ *   - the frontier size after every step, as a time series
+ *
+ * write(base) produces three files:
+ *   base.png / base.pgm  8-bit grayscale heatmap: walls black, cells
+ *                        never explored dark gray, explored cells from
+ *                        white (first step) fading to gray (last step)
+ *   base.steps           little-endian: magic "MZHM", version, rows,
+ *                        cols, steps, then rows × cols int first-steps
+ *   base.frontier.csv    "step,frontier" per step (-1 if the solver
+ *                        does not report its frontier)
+ * Each file is written in one pass through a single direct buffer; the
+ * PNG is deflated straight from that buffer, row by row.
+ */
+public final class ExplorationMap {
+
+    static final int MAGIC = 0x4D485A4D; // "MZHM" read little-endian
+    static final int VERSION = 1;
+    static final int BUFFER_BYTES = 1 << 20;
+
+    private static final int WALL_GRAY = 0;
+    private static final int UNSEEN_GRAY = 48;
+    private static final int LATE_GRAY = 96;
+
+    public final int rows;
+    public final int cols;
+    private final int[][] maze;
+    private final int[] firstStep;
+    private int[] frontier = new int[1024];
+    private int steps;
+    private long revisits;
+
+    public ExplorationMap(int[][] maze) {
+        this.maze = maze;
+        this.rows = maze.length;
+        this.cols = maze[0].length;
+        this.firstStep = new int[rows * cols];
+    }
+
+    /** Called after every step(), on the solver's thread. */
+    public void record(List<int[]> visited, int frontierSize) {
+        if (steps == Integer.MAX_VALUE - 8) return; // the series is full
+        int step = ++steps;
+        for (int[] cell : visited) {
+            int i = cell[0] * cols + cell[1];
+            if (firstStep[i] == 0) firstStep[i] = step;
+            else revisits++;
+        }
+        if (step > frontier.length) {
+            frontier = Arrays.copyOf(frontier, (int) Math.min(Integer.MAX_VALUE - 8, 2L * frontier.length));
+        }
+        frontier[step - 1] = frontierSize;
+    }
+
+    /** Step at which the cell was first explored, 0 if never. */
+    public int firstStep(int r, int c) {
+        return firstStep[r * cols + c];
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    /** Times a cell was reported again after its first step. */
+    public long getRevisits() {
+        return revisits;
+    }
+
+    /** Largest frontier seen, -1 if the solver does not report it. */
+    public int getPeakFrontier() {
+        int peak = -1;
+        for (int i = 0; i < steps; i++) peak = Math.max(peak, frontier[i]);
+        return peak;
+    }
+
+    // ─────────────────────────────────────────────
+    //  EXPORT
+    // ─────────────────────────────────────────────
+
+    /**
+     * Writes the heatmap, the first-step array and the frontier series
+     * next to {@code base}: a base ending in ".pgm" gives a PGM image,
+     * anything else a PNG. Returns the three paths written.
+     */
+    public Path[] write(Path base) throws IOException {
+        String name = base.toString();
+        boolean pgm = name.endsWith(".pgm");
+        if (pgm || name.endsWith(".png")) name = name.substring(0, name.length() - 4);
+        Path image = Paths.get(name + (pgm ? ".pgm" : ".png"));
+        Path array = Paths.get(name + ".steps");
+        Path series = Paths.get(name + ".frontier.csv");
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (pgm) writePgm(image, buf);
+        else writePng(image, buf);
+        writeArray(array, buf);
+        writeSeries(series, buf);
+        return new Path[]{image, array, series};
+    }
+
+    /** Gray level of one cell; early steps are bright. */
+    private int gray(int r, int c, int last) {
+        if (maze[r][c] == 0) return WALL_GRAY;
+        int s = firstStep[r * cols + c];
+        if (s == 0) return UNSEEN_GRAY;
+        return 255 - (int) ((long) (s - 1) * (255 - LATE_GRAY) / Math.max(1, last - 1));
+    }
+
+    private int lastStep() {
+        int last = 0;
+        for (int s : firstStep) last = Math.max(last, s);
+        return last;
+    }
+
+    private void writePgm(Path file, ByteBuffer buf) throws IOException {
+        int last = lastStep();
+        try (FileChannel ch = open(file)) {
+            buf.clear();
+            buf.put(("P5\n" + cols + " " + rows + "\n255\n").getBytes(StandardCharsets.US_ASCII));
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    if (!buf.hasRemaining()) drain(ch, buf);
+                    buf.put((byte) gray(r, c, last));
+                }
+            }
+            drain(ch, buf);
+        }
+    }
+
+    /**
+     * 8-bit grayscale PNG: each row is filter byte 0 plus one byte per
+     * cell, built in the direct buffer and deflated from there into
+     * IDAT chunks as the compressed output fills up.
+     */
+    private void writePng(Path file, ByteBuffer buf) throws IOException {
+        int last = lastStep();
+        ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (FileChannel ch = open(file)) {
+            writeFully(ch, ByteBuffer.wrap(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}));
+            ByteBuffer ihdr = ByteBuffer.allocate(13);
+            ihdr.putInt(cols).putInt(rows).put((byte) 8).put((byte) 0) // 8-bit gray
+                    .put((byte) 0).put((byte) 0).put((byte) 0).flip();
+            writeChunk(ch, "IHDR", ihdr);
+
+            buf.clear();
+            for (int r = 0; r < rows; r++) {
+                if (buf.remaining() < cols + 1) {
+                    buf.flip();
+                    deflateInto(ch, deflater, buf, out);
+                    buf.clear();
+                }
+                buf.put((byte) 0); // filter: none
+                for (int c = 0; c < cols; c++) {
+                    if (!buf.hasRemaining()) { // a row wider than the buffer
+                        buf.flip();
+                        deflateInto(ch, deflater, buf, out);
+                        buf.clear();
+                    }
+                    buf.put((byte) gray(r, c, last));
+                }
+            }
+            buf.flip();
+            deflateInto(ch, deflater, buf, out);
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflater.deflate(out);
+                flushIdat(ch, out);
+            }
+            writeChunk(ch, "IEND", ByteBuffer.allocate(0));
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void deflateInto(FileChannel ch, Deflater deflater, ByteBuffer in,
+                                    ByteBuffer out) throws IOException {
+        deflater.setInput(in);
+        while (!deflater.needsInput()) {
+            deflater.deflate(out);
+            if (!out.hasRemaining()) flushIdat(ch, out);
+        }
+    }
+
+    /** Writes whatever compressed bytes {@code out} holds as one IDAT chunk. */
+    private static void flushIdat(FileChannel ch, ByteBuffer out) throws IOException {
+        out.flip();
+        if (out.hasRemaining()) writeChunk(ch, "IDAT", out);
+        out.clear();
+    }
+
+    private static void writeChunk(FileChannel ch, String type, ByteBuffer data) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(8);
+        head.putInt(data.remaining()).put(type.getBytes(StandardCharsets.US_ASCII)).flip();
+        CRC32 crc = new CRC32();
+        crc.update(head.array(), 4, 4);
+        crc.update(data.duplicate());
+        ByteBuffer tail = ByteBuffer.allocate(4);
+        tail.putInt((int) crc.getValue()).flip();
+        writeFully(ch, head);
+        writeFully(ch, data);
+        writeFully(ch, tail);
+    }
+
+    private void writeArray(Path file, ByteBuffer buf) throws IOException {
+        try (FileChannel ch = open(file)) {
+            buf.clear();
+            buf.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).putInt(steps);
+            for (int s : firstStep) {
+                if (buf.remaining() < Integer.BYTES) drain(ch, buf);
+                buf.putInt(s);
+            }
+            drain(ch, buf);
+        }
+    }
+
+    private void writeSeries(Path file, ByteBuffer buf) throws IOException {
+        try (FileChannel ch = open(file)) {
+            buf.clear();
+            buf.put("step,frontier\n".getBytes(StandardCharsets.US_ASCII));
+            for (int i = 0; i < steps; i++) {
+                if (buf.remaining() < 32) drain(ch, buf);
+                putDecimal(buf, i + 1);
+                buf.put((byte) ',');
+                putDecimal(buf, frontier[i]);
+                buf.put((byte) '\n');
+            }
+            drain(ch, buf);
+        }
+    }
+
+    /** ASCII digits of {@code v} without going through a String. */
+    private static void putDecimal(ByteBuffer buf, int v) {
+        if (v < 0) {
+            buf.put((byte) '-');
+            v = -v;
+        }
+        int div = 1;
+        while (div <= v / 10) div *= 10;
+        for (; div > 0; div /= 10) buf.put((byte) ('0' + v / div % 10));
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /** Writes out the buffer's contents and clears it for refilling. */
+    private static void drain(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        writeFully(ch, buf);
+        buf.clear();
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+}
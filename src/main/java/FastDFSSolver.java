@@ -0,0 +1,184 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                      FastDFSSolver                          ║
+ * ║     Iterative DFS with no per-step allocation at all        ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Same search order as the DFS template would give, without
+ * java.util.Stack (synchronized, boxes every cell) or per-cell int[]s:
+ *
+ *   stack    — growable int[] of linear cell indices (row * cols + col).
+ *              It only ever holds the current branch, so its depth is the
+ *              length of the current path, and on success it IS the path.
+ *   visited  — one bit per cell
+ *   nextDir  — one nibble per cell (two cells per byte): the next of the
+ *              four directions to try when we come back to this cell.
+ *
+ * Instead of pushing all neighbours at once, each step() looks at the
+ * top cell and either advances into its next untried open neighbour or,
+ * when all four are exhausted, backtracks by popping it. Either way one
+ * cell is explored per step, so it animates like the other solvers.
+ *
+ * The list from getVisitedThisStep() and its cell array are reused from
+ * step to step; copy them if you need to keep them.
+ */
+public class FastDFSSolver implements MazeSolver {
+
+    private static final int DIRECTIONS = 4; // up, down, left, right
+
+    private int[][] maze;
+    private int rows, cols;
+    private int endCell;
+
+    private int[] stack = new int[64];
+    private int size;
+    private long[] visited = new long[0];
+    private byte[] nextDir = new byte[0];
+
+    private final int[] lastCell = new int[2];
+    private boolean hasLastCell;
+    private final List<int[]> visitedThisStep = new AbstractList<int[]>() {
+        @Override
+        public int[] get(int i) {
+            return lastCell;
+        }
+
+        @Override
+        public int size() {
+            return hasLastCell ? 1 : 0;
+        }
+    };
+
+    private boolean found;
+
+    @Override
+    public void init(int[][] maze, int[] start, int[] end) {
+        this.maze = maze;
+        this.rows = maze.length;
+        this.cols = maze[0].length;
+        int cells = rows * cols;
+
+        int words = (cells + 63) >>> 6;
+        if (visited.length < words) visited = new long[words];
+        else Arrays.fill(visited, 0, words, 0L);
+        int nibbles = (cells + 1) >>> 1;
+        if (nextDir.length < nibbles) nextDir = new byte[nibbles];
+        else Arrays.fill(nextDir, 0, nibbles, (byte) 0);
+
+        int startCell = start[0] * cols + start[1];
+        endCell = end[0] * cols + end[1];
+        size = 0;
+        push(startCell);
+        markVisited(startCell);
+        setLastCell(startCell);
+        found = startCell == endCell;
+    }
+
+    @Override
+    public boolean step() {
+        hasLastCell = false;
+        if (found || size == 0) {
+            return true;
+        }
+
+        int cur = stack[size - 1];
+        int r = cur / cols, c = cur - r * cols;
+
+        for (int d = nextDir(cur); d < DIRECTIONS; d++) {
+            int next;
+            switch (d) {
+                case 0:  next = r > 0        && maze[r - 1][c] == 1 ? cur - cols : -1; break;
+                case 1:  next = r < rows - 1 && maze[r + 1][c] == 1 ? cur + cols : -1; break;
+                case 2:  next = c > 0        && maze[r][c - 1] == 1 ? cur - 1    : -1; break;
+                default: next = c < cols - 1 && maze[r][c + 1] == 1 ? cur + 1    : -1; break;
+            }
+            if (next >= 0 && !isVisited(next)) {
+                setNextDir(cur, d + 1);
+                markVisited(next);
+                push(next);
+                setLastCell(next);
+                found = next == endCell;
+                return found;
+            }
+        }
+
+        // Dead end: every direction tried, backtrack
+        setNextDir(cur, DIRECTIONS);
+        size--;
+        setLastCell(cur);
+        return size == 0;
+    }
+
+    // ─────────────────────────────────────────────
+    //  PRIMITIVE STATE HELPERS
+    // ─────────────────────────────────────────────
+
+    private void push(int cell) {
+        if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+        stack[size++] = cell;
+    }
+
+    private boolean isVisited(int cell) {
+        return (visited[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private void markVisited(int cell) {
+        visited[cell >>> 6] |= 1L << cell;
+    }
+
+    private int nextDir(int cell) {
+        return (nextDir[cell >>> 1] >>> ((cell & 1) << 2)) & 0xF;
+    }
+
+    private void setNextDir(int cell, int dir) {
+        int shift = (cell & 1) << 2;
+        int i = cell >>> 1;
+        nextDir[i] = (byte) ((nextDir[i] & ~(0xF << shift)) | (dir << shift));
+    }
+
+    private void setLastCell(int cell) {
+        lastCell[0] = cell / cols;
+        lastCell[1] = cell % cols;
+        hasLastCell = true;
+    }
+
+    /** Cells on the stack: the current branch. */
+    @Override
+    public int getFrontierSize() {
+        return size;
+    }
+
+    @Override
+    public boolean reset() {
+        maze = null; // the stack, bitset and nibbles are kept for the next maze
+        hasLastCell = false;
+        found = false;
+        size = 0;
+        return true;
+    }
+
+    @Override
+    public List<int[]> getVisitedThisStep() {
+        return visitedThisStep;
+    }
+
+    @Override
+    public List<int[]> getPath() {
+        if (!found) return Collections.emptyList();
+        int[][] path = new int[size][];
+        for (int i = 0; i < size; i++) {
+            path[i] = new int[]{stack[i] / cols, stack[i] % cols};
+        }
+        return Arrays.asList(path);
+    }
+
+    @Override
+    public String getName() {
+        return "Fast DFS (int[] stack)";
+    }
+}
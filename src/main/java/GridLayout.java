@@ -0,0 +1,196 @@
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                       GridLayout                            ║
+ * ║     Where cell (row, col) lives in a flat array             ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Maps maze cells to indices of flat per-cell arrays (open bits,
+ * visited bits, parents...), so that a solver can keep ALL of its state
+ * in the same order and pick the order that suits its access pattern:
+ *
+ *   ROW_MAJOR  r * stride + c. Left/right neighbours are adjacent, but
+ *              up/down are a whole row apart: on a wide grid every
+ *              vertical move touches a different cache line and, past a
+ *              few thousand columns, a different page.
+ *
+ *   MORTON     Z-order: the bits of c and r interleaved (c in the even
+ *              bits, r in the odd ones). Any 2^k × 2^k aligned square is
+ *              one contiguous run, at every scale at once, so it is
+ *              cache-oblivious. Neighbours are found with masked adds,
+ *              without decoding the coordinates.
+ *
+ *   TILED      8 × 8 tiles stored one after the other (64 cells = one
+ *              64-bit word of a bitset, one 64-byte line of a byte array),
+ *              tiles in row-major order. Only moves that leave a tile
+ *              jump far.
+ *
+ * Every layout surrounds the maze with a one-cell ring that is never
+ * open, so the neighbour of a real cell is always a valid index and
+ * solvers need no bounds checks. The neighbour methods switch on a final
+ * field; the JIT inlines them, and the branch is perfectly predicted.
+ */
+public final class GridLayout {
+
+    public enum Kind {
+        ROW_MAJOR("row-major"), MORTON("Morton"), TILED("8x8 tiles");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final int X_BITS = 0x55555555; // Morton: column bits
+    private static final int Y_BITS = 0xAAAAAAAA; // Morton: row bits
+    private static final int TILE = 8;
+
+    public final Kind kind;
+    public final int rows;
+    public final int cols;
+
+    /** Number of indices: size of the per-cell arrays (padding included). */
+    public final int capacity;
+
+    private final int stride;       // ROW_MAJOR: padded row length; TILED: cells per row of tiles
+
+    public GridLayout(Kind kind, int rows, int cols) {
+        this.kind = kind;
+        this.rows = rows;
+        this.cols = cols;
+        long paddedRows = rows + 2L, paddedCols = cols + 2L;
+        long cap;
+        switch (kind) {
+            case ROW_MAJOR:
+                stride = (int) paddedCols;
+                cap = paddedRows * paddedCols;
+                break;
+            case MORTON: {
+                long side = Long.highestOneBit(Math.max(paddedRows, paddedCols) - 1) << 1;
+                stride = 0;
+                cap = side * side;
+                break;
+            }
+            default: {
+                long tileCols = (paddedCols + TILE - 1) / TILE;
+                long tileRows = (paddedRows + TILE - 1) / TILE;
+                stride = (int) (tileCols * TILE * TILE);
+                cap = tileRows * tileCols * TILE * TILE;
+                break;
+            }
+        }
+        if (cap > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(rows + "x" + cols + " is too big for a " +
+                    kind + " layout (" + cap + " cells)");
+        }
+        capacity = (int) cap;
+    }
+
+    /** Looks up a layout by its command-line name. */
+    public static Kind kindOf(String name) {
+        switch (name) {
+            case "rowmajor": return Kind.ROW_MAJOR;
+            case "morton":   return Kind.MORTON;
+            case "tiled":    return Kind.TILED;
+            default: throw new IllegalArgumentException("unknown layout '" + name +
+                    "' (rowmajor, morton, tiled)");
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    //  COORDINATES ↔ INDEX
+    // ─────────────────────────────────────────────
+
+    /** Index of maze cell (r, c). */
+    public int index(int r, int c) {
+        int pr = r + 1, pc = c + 1; // past the padding ring
+        switch (kind) {
+            case ROW_MAJOR: return pr * stride + pc;
+            case MORTON:    return spread(pc) | (spread(pr) << 1);
+            default:
+                return (pr >>> 3) * stride + ((pc >>> 3) << 6) + ((pr & 7) << 3) + (pc & 7);
+        }
+    }
+
+    public int row(int i) {
+        switch (kind) {
+            case ROW_MAJOR: return i / stride - 1;
+            case MORTON:    return compact(i >>> 1) - 1;
+            default:        return (i / stride) * TILE + ((i >>> 3) & 7) - 1;
+        }
+    }
+
+    public int col(int i) {
+        switch (kind) {
+            case ROW_MAJOR: return i % stride - 1;
+            case MORTON:    return compact(i) - 1;
+            default:        return ((i % stride) >>> 6) * TILE + (i & 7) - 1;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    //  NEIGHBOURS (of a maze cell, so never off the padded grid)
+    // ─────────────────────────────────────────────
+
+    public int up(int i) {
+        switch (kind) {
+            case ROW_MAJOR: return i - stride;
+            case MORTON:    return (((i & Y_BITS) - 1) & Y_BITS) | (i & X_BITS);
+            default:        return (i & 56) != 0 ? i - 8 : i - stride + 56;
+        }
+    }
+
+    public int down(int i) {
+        switch (kind) {
+            case ROW_MAJOR: return i + stride;
+            case MORTON:    return (((i | X_BITS) + 1) & Y_BITS) | (i & X_BITS);
+            default:        return (i & 56) != 56 ? i + 8 : i + stride - 56;
+        }
+    }
+
+    public int left(int i) {
+        switch (kind) {
+            case ROW_MAJOR: return i - 1;
+            case MORTON:    return (((i & X_BITS) - 1) & X_BITS) | (i & Y_BITS);
+            default:        return (i & 7) != 0 ? i - 1 : i - 57;
+        }
+    }
+
+    public int right(int i) {
+        switch (kind) {
+            case ROW_MAJOR: return i + 1;
+            case MORTON:    return (((i | Y_BITS) + 1) & X_BITS) | (i & Y_BITS);
+            default:        return (i & 7) != 7 ? i + 1 : i + 57;
+        }
+    }
+
+    /** Spreads the low 16 bits of v to the even bits. */
+    private static int spread(int v) {
+        v &= 0xFFFF;
+        v = (v | (v << 8)) & 0x00FF00FF;
+        v = (v | (v << 4)) & 0x0F0F0F0F;
+        v = (v | (v << 2)) & 0x33333333;
+        v = (v | (v << 1)) & 0x55555555;
+        return v;
+    }
+
+    /** Inverse of spread: gathers the even bits. */
+    private static int compact(int v) {
+        v &= 0x55555555;
+        v = (v | (v >>> 1)) & 0x33333333;
+        v = (v | (v >>> 2)) & 0x0F0F0F0F;
+        v = (v | (v >>> 4)) & 0x00FF00FF;
+        v = (v | (v >>> 8)) & 0x0000FFFF;
+        return v;
+    }
+
+    @Override
+    public String toString() {
+        return kind.toString();
+    }
+}
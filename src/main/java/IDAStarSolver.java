@@ -0,0 +1,274 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                      IDAStarSolver                          ║
+ * ║     Iterative-deepening A*: memory O(path) + a fixed table  ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Depth-first search bounded by f = g + h, where g is the depth and h
+ * the Manhattan distance to the end (never more than the real distance).
+ * An iteration explores every branch whose f stays within the threshold;
+ * if it does not reach the end, the threshold becomes the smallest f that
+ * went over, and the search starts again from the start cell.
+ *
+ * Only the current branch is kept:
+ *
+ *   stack    — int[] of linear cells (row * cols + col), the branch itself
+ *   nextDir  — one byte per stack frame: next direction to try there
+ *
+ * On a maze with loops, plain IDA* walks the same cells again through
+ * every route that fits the threshold. A transposition table of fixed
+ * size cuts that down: it remembers the smallest g at which a cell was
+ * reached in this iteration, and a branch reaching it again with no
+ * smaller g is dropped (it cannot lead anywhere new). The table is
+ * direct-mapped and entries are simply overwritten on collision, so it
+ * never grows; a forgotten cell only costs time, never correctness.
+ *
+ * The budget (setMaxMemory) is split between the table and the stack.
+ * The path found is always a shortest one: the first iteration that
+ * reaches the end has a threshold no larger than the real distance.
+ * If the branch would outgrow the stack budget, that branch is cut and,
+ * should no path turn up, isOptimal() reports that the answer is unsure.
+ *
+ * Each step() moves one cell deeper or backtracks one cell, so it
+ * animates like the DFS solvers, once per iteration.
+ */
+public class IDAStarSolver implements MemoryBoundedSolver {
+
+    /** Budget used when setMaxMemory() is not called. */
+    public static final long DEFAULT_MAX_MEMORY = 64L << 20;
+
+    private static final int FRAME_BYTES = 5;   // int cell + byte direction
+    private static final int ENTRY_BYTES = 12;  // long cell|g + int iteration
+    private static final int DIRECTIONS = 4;    // up, down, left, right
+
+    private long maxMemory = DEFAULT_MAX_MEMORY;
+
+    private PackedGrid grid;
+    private int rows, cols;
+    private int startCell, endCell, endRow, endCol;
+
+    private int[] stack = new int[64];
+    private byte[] nextDir = new byte[64];
+    private int size;
+    private int maxDepth;
+
+    private long[] table = new long[0];    // cell << 32 | g
+    private int[] tableIter = new int[0];  // iteration that wrote the entry
+    private int tableShift;                // 32 - log2(table size)
+    private int iteration;                 // never reset, so the table never needs clearing
+
+    private int threshold, nextThreshold;
+    private boolean found, done, depthCut;
+    private long peakMemory;
+
+    private final int[] lastCell = new int[2];
+    private boolean hasLastCell;
+    private final List<int[]> visitedThisStep = new AbstractList<int[]>() {
+        @Override
+        public int[] get(int i) {
+            return lastCell;
+        }
+
+        @Override
+        public int size() {
+            return hasLastCell ? 1 : 0;
+        }
+    };
+
+    @Override
+    public void setMaxMemory(long bytes) {
+        this.maxMemory = Math.max(1024, bytes);
+    }
+
+    @Override
+    public void init(int[][] maze, int[] start, int[] end) {
+        init(PackedGrid.fromMaze(maze), start, end);
+    }
+
+    @Override
+    public void init(PackedGrid grid, int[] start, int[] end) {
+        long cells = (long) grid.rows * grid.cols;
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException(grid.rows + "x" + grid.cols + " has more than " +
+                    MAX_CELLS + " cells; int cell indices would overflow");
+        }
+        this.grid = grid;
+        this.rows = grid.rows;
+        this.cols = grid.cols;
+
+        // Half of the budget for the table (power of two, no bigger than the grid)
+        long entries = Math.min(maxMemory / 2 / ENTRY_BYTES, 1L << 30);
+        entries = Math.min(entries, Long.highestOneBit(Math.max(1, cells - 1)) << 1);
+        int tableSize = entries > 0 ? (int) Long.highestOneBit(entries) : 0;
+        if (table.length != tableSize) {
+            table = new long[tableSize];
+            tableIter = new int[tableSize];
+        }
+        tableShift = 32 - Integer.numberOfTrailingZeros(Math.max(2, tableSize));
+        // The rest for the stack: a simple path never has more frames than cells
+        maxDepth = (int) Math.min(cells, (maxMemory - (long) tableSize * ENTRY_BYTES) / FRAME_BYTES);
+        maxDepth = Math.max(1, maxDepth);
+
+        startCell = start[0] * cols + start[1];
+        endCell = end[0] * cols + end[1];
+        endRow = end[0];
+        endCol = end[1];
+
+        threshold = distance(start[0], start[1]);
+        nextThreshold = Integer.MAX_VALUE;
+        iteration++;
+        found = done = depthCut = false;
+        size = 0;
+        push(startCell);
+        remember(startCell, 0);
+        setLastCell(startCell);
+        if (startCell == endCell) found = done = true;
+        peakMemory = memoryInUse();
+    }
+
+    @Override
+    public boolean step() {
+        hasLastCell = false;
+        if (done) return true;
+
+        int top = size - 1;
+        int cur = stack[top];
+        int r = cur / cols, c = cur - r * cols;
+        int g = top + 1;  // depth of the children
+
+        for (int d = nextDir[top]; d < DIRECTIONS; d++) {
+            int nr = r, nc = c;
+            switch (d) {
+                case 0:  nr--; break;
+                case 1:  nr++; break;
+                case 2:  nc--; break;
+                default: nc++; break;
+            }
+            if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || !grid.isOpen(nr, nc)) continue;
+            int next = nr * cols + nc;
+            if (top > 0 && next == stack[top - 1]) continue;  // straight back
+
+            int f = g + distance(nr, nc);
+            if (f > threshold) {
+                if (f < nextThreshold) nextThreshold = f;
+                continue;
+            }
+            if (size == maxDepth) {
+                depthCut = true;
+                continue;
+            }
+            if (!remember(next, g)) continue;
+
+            nextDir[top] = (byte) (d + 1);
+            push(next);
+            setLastCell(next);
+            if (next == endCell) {
+                found = done = true;
+            }
+            return done;
+        }
+
+        // Every direction tried: backtrack
+        size--;
+        setLastCell(cur);
+        if (size == 0) {
+            if (nextThreshold == Integer.MAX_VALUE) {
+                done = true;  // nothing went over the threshold: the end is not reachable
+                return true;
+            }
+            threshold = nextThreshold;
+            nextThreshold = Integer.MAX_VALUE;
+            iteration++;
+            push(startCell);
+            remember(startCell, 0);
+        }
+        return false;
+    }
+
+    private int distance(int r, int c) {
+        return Math.abs(r - endRow) + Math.abs(c - endCol);
+    }
+
+    /** Records that {@code cell} was reached at depth g; false if already reached at g or less. */
+    private boolean remember(int cell, int g) {
+        if (table.length == 0) return true;
+        int slot = table.length == 1 ? 0 : (cell * 0x9E3779B1) >>> tableShift;
+        long entry = table[slot];
+        if (tableIter[slot] == iteration && (int) (entry >>> 32) == cell && (int) entry <= g) {
+            return false;
+        }
+        table[slot] = (long) cell << 32 | g;
+        tableIter[slot] = iteration;
+        return true;
+    }
+
+    private void push(int cell) {
+        if (size == stack.length) {
+            int grown = (int) Math.min(maxDepth, (long) size * 2);
+            stack = Arrays.copyOf(stack, grown);
+            nextDir = Arrays.copyOf(nextDir, grown);
+            peakMemory = Math.max(peakMemory, memoryInUse());
+        }
+        nextDir[size] = 0;
+        stack[size++] = cell;
+    }
+
+    private long memoryInUse() {
+        return (long) stack.length * FRAME_BYTES + (long) table.length * ENTRY_BYTES;
+    }
+
+    private void setLastCell(int cell) {
+        lastCell[0] = cell / cols;
+        lastCell[1] = cell % cols;
+        hasLastCell = true;
+    }
+
+    @Override
+    public long getPeakMemory() {
+        return peakMemory;
+    }
+
+    @Override
+    public boolean isOptimal() {
+        return found || !depthCut;
+    }
+
+    @Override
+    public boolean guaranteesShortestPath() {
+        return true;
+    }
+
+    @Override
+    public boolean reset() {
+        grid = null; // the stack and the table are kept for the next maze
+        hasLastCell = false;
+        found = done = false;
+        size = 0;
+        return true;
+    }
+
+    @Override
+    public List<int[]> getVisitedThisStep() {
+        return visitedThisStep;
+    }
+
+    @Override
+    public List<int[]> getPath() {
+        if (!found) return Collections.emptyList();
+        int[][] path = new int[size][];
+        for (int i = 0; i < size; i++) {
+            path[i] = new int[]{stack[i] / cols, stack[i] % cols};
+        }
+        return Arrays.asList(path);
+    }
+
+    @Override
+    public String getName() {
+        return "IDA* (bounded table)";
+    }
+}
@@ -0,0 +1,165 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                    KruskalGenerator                         ║
+ * ║     Randomized Kruskal, stripes in parallel, then merged    ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Randomized Kruskal opens walls in random order whenever the two cells
+ * on either side are not yet connected. Here the cell rows are split
+ * into horizontal stripes of {@link #STRIPE_ROWS} cell rows each:
+ *   1. Each stripe shuffles and processes only its own walls, in parallel
+ *      on a pool of up to {@code threads} threads.
+ *      Stripes touch disjoint cells, so they never contend.
+ *   2. The walls BETWEEN stripes are then shuffled and processed in one
+ *      pass, joining the stripe forests into a single spanning tree.
+ *
+ * Connectivity lives in a lock-free union-find over an int array
+ * (AtomicIntegerArray): find() uses CAS path halving and union() links
+ * the lower root under the higher one with a single CAS, so it stays
+ * correct even if stripes are ever merged concurrently.
+ *
+ * The stripe layout depends only on the maze size, never on the thread
+ * count, and each stripe draws its own Random from the caller's rng up
+ * front, so the result depends only on the seed: --seed reproduces the
+ * same maze on any machine, which --cache keys rely on.
+ */
+public class KruskalGenerator implements MazeGenerator {
+
+    /** Cell rows per stripe: fixed, so the maze does not depend on the CPU count. */
+    static final int STRIPE_ROWS = 64;
+
+    private final int threads;
+
+    public KruskalGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public KruskalGenerator(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public int[][] generate(int size, Random rng) {
+        int[][] maze = new int[size][size];
+        int w = (size - 1) / 2;
+        if (w == 0) return maze;
+
+        AtomicIntegerArray parent = new AtomicIntegerArray(w * w);
+        for (int i = 0; i < w * w; i++) {
+            parent.set(i, i);
+            maze[2 * (i / w) + 1][2 * (i % w) + 1] = 1;
+        }
+
+        int stripeRows = STRIPE_ROWS;
+        int stripes = (w + stripeRows - 1) / stripeRows;
+        long[] seeds = new long[stripes];
+        for (int s = 0; s < stripes; s++) seeds[s] = rng.nextLong();
+
+        // ── 1. Kruskal inside each stripe, in parallel ──
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, stripes));
+        try {
+            List<Future<?>> jobs = new ArrayList<>();
+            for (int s = 0; s < stripes; s++) {
+                int y0 = s * stripeRows, y1 = Math.min(w, y0 + stripeRows);
+                Random stripeRng = new Random(seeds[s]);
+                jobs.add(pool.submit(() -> {
+                    // Wall id: cell * 2 + 0 for the wall to the right, + 1 below
+                    int[] walls = new int[(y1 - y0) * w * 2];
+                    int n = 0;
+                    for (int y = y0; y < y1; y++) {
+                        for (int x = 0; x < w; x++) {
+                            int cell = y * w + x;
+                            if (x < w - 1)  walls[n++] = cell * 2;
+                            if (y < y1 - 1) walls[n++] = cell * 2 + 1;
+                        }
+                    }
+                    shuffle(walls, n, stripeRng);
+                    for (int i = 0; i < n; i++) tryOpen(maze, parent, w, walls[i]);
+                }));
+            }
+            for (Future<?> job : jobs) job.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        // ── 2. Walls between stripes, merged in one pass ──
+        int[] seams = new int[(stripes - 1) * w];
+        int n = 0;
+        for (int s = 1; s < stripes; s++) {
+            int y = s * stripeRows - 1;
+            for (int x = 0; x < w; x++) seams[n++] = (y * w + x) * 2 + 1;
+        }
+        shuffle(seams, n, rng);
+        for (int i = 0; i < n; i++) tryOpen(maze, parent, w, seams[i]);
+
+        return maze;
+    }
+
+    /** Opens a wall if the cells on both sides are not connected yet. */
+    private static void tryOpen(int[][] maze, AtomicIntegerArray parent, int w, int wall) {
+        int cell = wall >>> 1;
+        int other = (wall & 1) == 0 ? cell + 1 : cell + w;
+        if (union(parent, cell, other)) {
+            int y = cell / w, x = cell % w;
+            if ((wall & 1) == 0) maze[2 * y + 1][2 * x + 2] = 1;
+            else                 maze[2 * y + 2][2 * x + 1] = 1;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    //  LOCK-FREE UNION-FIND
+    // ─────────────────────────────────────────────
+
+    private static int find(AtomicIntegerArray parent, int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (p != gp) parent.compareAndSet(x, p, gp); // path halving
+            x = gp;
+        }
+    }
+
+    /** @return true if a and b were in different sets (and now are joined) */
+    private static boolean union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            int ra = find(parent, a), rb = find(parent, b);
+            if (ra == rb) return false;
+            // Always link the lower root under the higher one: no cycles
+            int lo = Math.min(ra, rb), hi = Math.max(ra, rb);
+            if (parent.compareAndSet(lo, lo, hi)) return true;
+        }
+    }
+
+    private static void shuffle(int[] a, int n, Random rng) {
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int t = a[i]; a[i] = a[j]; a[j] = t;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "kruskal";
+    }
+
+    /** 2: stripes stopped depending on the thread count. */
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+}
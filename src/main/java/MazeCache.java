@@ -0,0 +1,195 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                        MazeCache                            ║
+ * ║     Generated mazes kept on disk, so the same --seed and    ║
+ * ║     --size are only ever generated once (--cache)           ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * A maze is fully determined by its {@link Key}: generator name and
+ * version, rows, cols, seed and wall removal ratio. The cache file of a
+ * key is named after the SHA-256 of the key (content addressing), and
+ * holds the maze in the memory-mappable {@link PackedGrid} format, so a
+ * hit is a map-and-copy of size² / 8 bytes instead of a generation.
+ *
+ * EVICTION:
+ *   The files' modification times serve as the LRU order: a hit touches
+ *   its file. A running byte total, taken from one directory scan when
+ *   the cache is opened, grows with every store; only when it crosses
+ *   the budget is the directory scanned again and the least recently
+ *   used files deleted until it fits. No index file is kept, so several
+ *   processes can share one cache directory; their stores are seen at
+ *   the next scan.
+ *
+ * Entries are written to a temporary file and moved into place, so a
+ * reader never sees half a maze. Safe to use from several threads.
+ *
+ * Bump {@link #VERSION} when MazeManager's generation pipeline (e.g.
+ * removeWalls) changes what a key produces; a generator bumps its own
+ * {@link MazeGenerator#getVersion()}.
+ */
+public final class MazeCache {
+
+    static final int VERSION = 1;
+    static final String SUFFIX = ".mzpg";
+
+    /** Everything that decides what a generated maze looks like. */
+    public static final class Key {
+        final String generator;
+        final int version;
+        final int rows;
+        final int cols;
+        final long seed;
+        final double removalRatio;
+
+        public Key(String generator, int version, int rows, int cols, long seed,
+                   double removalRatio) {
+            this.generator = generator;
+            this.version = version;
+            this.rows = rows;
+            this.cols = cols;
+            this.seed = seed;
+            this.removalRatio = removalRatio;
+        }
+
+        /** Hex SHA-256 of the canonical key text: the cache file name. */
+        String id() {
+            String text = "mazes/" + VERSION + ";generator=" + generator + ";version=" + version +
+                    ";rows=" + rows + ";cols=" + cols + ";seed=" + seed +
+                    ";removal=" + Long.toHexString(Double.doubleToLongBits(removalRatio));
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256")
+                        .digest(text.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder(hash.length * 2);
+                for (byte b : hash) hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e); // every JVM has SHA-256
+            }
+        }
+
+        @Override
+        public String toString() {
+            return generator + " v" + version + " " + rows + "x" + cols + " seed " + seed;
+        }
+    }
+
+    private final Path dir;
+    private final long budget;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong(); // on disk, as of the last scan plus our stores
+
+    /** A cache in {@code dir} (created if needed) of at most {@code budget} bytes. */
+    public MazeCache(Path dir, long budget) throws IOException {
+        this.dir = dir;
+        this.budget = budget;
+        Files.createDirectories(dir);
+        evict();
+    }
+
+    /** The cached maze for {@code key}, or null. A hit becomes the most recently used. */
+    public PackedGrid get(Key key) {
+        Path file = dir.resolve(key.id() + SUFFIX);
+        try {
+            PackedGrid grid = PackedGrid.read(file);
+            if (grid.rows != key.rows || grid.cols != key.cols) return null;
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return grid;
+        } catch (IOException e) {
+            return null; // not cached, damaged, or evicted meanwhile: generate again
+        }
+    }
+
+    /** Stores {@code grid} under {@code key}, then evicts if over the budget. */
+    public void put(Key key, PackedGrid grid) throws IOException {
+        Path file = dir.resolve(key.id() + SUFFIX);
+        Path tmp = Files.createTempFile(dir, "put-", ".tmp");
+        try {
+            grid.write(tmp);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        // A replaced entry is counted twice; that only brings the next scan forward
+        if (bytes.addAndGet(Files.size(file)) > budget) evict();
+    }
+
+    /**
+     * The cached maze, or a new one from {@code generate}, which is then
+     * stored. A failed store only costs the next run a generation.
+     */
+    public PackedGrid getOrCreate(Key key, Supplier<PackedGrid> generate) {
+        PackedGrid grid = get(key);
+        if (grid != null) {
+            hits.incrementAndGet();
+            return grid;
+        }
+        misses.incrementAndGet();
+        grid = generate.get();
+        try {
+            put(key, grid);
+        } catch (IOException e) {
+            System.err.println("Warning: could not cache " + key + ": " + e.getMessage());
+        }
+        return grid;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Rescans the directory and deletes least recently used entries until it fits in the budget. */
+    private synchronized void evict() throws IOException {
+        List<BasicFileAttributes> attrs = new ArrayList<>();
+        List<Path> files = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path f : entries) {
+                try {
+                    BasicFileAttributes a = Files.readAttributes(f, BasicFileAttributes.class);
+                    attrs.add(a);
+                    files.add(f);
+                    total += a.size();
+                } catch (IOException e) {
+                    // deleted by another process meanwhile
+                }
+            }
+        }
+        if (total <= budget) {
+            bytes.set(total);
+            return;
+        }
+
+        Integer[] order = new Integer[files.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(i -> attrs.get(i).lastModifiedTime()));
+        for (int i : order) {
+            if (total <= budget) break;
+            if (Files.deleteIfExists(files.get(i))) total -= attrs.get(i).size();
+        }
+        bytes.set(total);
+    }
+}
@@ -0,0 +1,169 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                       MazeCorpus                            ║
+ * ║     Many mazes with known shortest paths, for regression    ║
+ * ║     testing of solvers (--corpus)                           ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * A corpus is a directory of PackedGrid files (maze-00000.mzpg, ...)
+ * plus a text index, one maze per line:
+ *
+ *   # file  size  seed  generator  shortest
+ *   maze-00000.mzpg  21  1000  backtracker  41
+ *
+ * Maze i is generateMaze(size, new Random(seed + i)) with the sizes
+ * taken round-robin, so every maze can be regenerated from its line.
+ * Start and end are {1, 1} and {size-2, size-2}, as in MazeManager.
+ * "shortest" is the reference BFS path length in cells (start and end
+ * included), or -1 when the end cannot be reached.
+ */
+public final class MazeCorpus {
+
+    public static final String INDEX_FILE = "index.txt";
+
+    /** One line of the index. */
+    public static final class Entry {
+        public final Path file;
+        public final int size;
+        public final long seed;
+        public final String generator;
+        public final int shortest;
+
+        Entry(Path file, int size, long seed, String generator, int shortest) {
+            this.file = file;
+            this.size = size;
+            this.seed = seed;
+            this.generator = generator;
+            this.shortest = shortest;
+        }
+
+        public int[][] loadMaze() throws IOException {
+            return PackedGrid.read(file).toMaze();
+        }
+
+        public int[] start() {
+            return new int[]{1, 1};
+        }
+
+        public int[] end() {
+            return new int[]{size - 2, size - 2};
+        }
+
+        @Override
+        public String toString() {
+            return file.getFileName() + " (" + size + "x" + size + ", seed " + seed + ")";
+        }
+    }
+
+    private MazeCorpus() {
+    }
+
+    /**
+     * Generates {@code count} mazes into {@code dir} on {@code threads}
+     * threads and writes the index once all of them are on disk.
+     */
+    public static List<Entry> generate(Path dir, int count, int[] sizes, long seed,
+                                       String generatorName, double removalRatio,
+                                       int threads) throws IOException {
+        Files.createDirectories(dir);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Entry>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final int n = i;
+                Callable<Entry> job = () -> {
+                    int size = sizes[n % sizes.length] | 1;
+                    long mazeSeed = seed + n;
+                    // Generators are created per maze: some keep state
+                    MazeGenerator generator = MazeManager.createGenerator(generatorName);
+                    int[][] maze = MazeManager.generateMaze(size, new Random(mazeSeed),
+                            generator, removalRatio);
+                    Path file = dir.resolve(String.format("maze-%05d.mzpg", n));
+                    PackedGrid.fromMaze(maze).write(file);
+                    int shortest = shortestPathLength(maze, new int[]{1, 1},
+                            new int[]{size - 2, size - 2});
+                    return new Entry(file, size, mazeSeed, generator.getName(), shortest);
+                };
+                futures.add(pool.submit(job));
+            }
+
+            List<Entry> entries = new ArrayList<>(count);
+            for (Future<Entry> f : futures) entries.add(f.get());
+            writeIndex(dir, entries);
+            return entries;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating the corpus", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to generate the corpus", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Reads the index of a corpus directory. */
+    public static List<Entry> load(Path dir) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(dir.resolve(INDEX_FILE), StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] f = line.trim().split("\\s+");
+            entries.add(new Entry(dir.resolve(f[0]), Integer.parseInt(f[1]),
+                    Long.parseLong(f[2]), f[3], Integer.parseInt(f[4])));
+        }
+        return entries;
+    }
+
+    private static void writeIndex(Path dir, List<Entry> entries) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(dir.resolve(INDEX_FILE),
+                StandardCharsets.UTF_8)) {
+            out.write("# file  size  seed  generator  shortest\n");
+            for (Entry e : entries) {
+                out.write(e.file.getFileName() + "  " + e.size + "  " + e.seed + "  " +
+                        e.generator + "  " + e.shortest + "\n");
+            }
+        }
+    }
+
+    /**
+     * Reference shortest path length in cells (start and end included),
+     * or -1 if unreachable. A plain BFS over linear indices, independent
+     * of every solver under test.
+     */
+    public static int shortestPathLength(int[][] maze, int[] start, int[] end) {
+        int rows = maze.length, cols = maze[0].length;
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[rows * cols];
+        int head = 0, tail = 0;
+
+        int s = start[0] * cols + start[1];
+        int goal = end[0] * cols + end[1];
+        dist[s] = 1;
+        queue[tail++] = s;
+        while (head < tail) {
+            int cur = queue[head++];
+            if (cur == goal) return dist[cur];
+            int r = cur / cols, c = cur - r * cols;
+            if (r > 0        && maze[r - 1][c] == 1 && dist[cur - cols] < 0) { dist[cur - cols] = dist[cur] + 1; queue[tail++] = cur - cols; }
+            if (r < rows - 1 && maze[r + 1][c] == 1 && dist[cur + cols] < 0) { dist[cur + cols] = dist[cur] + 1; queue[tail++] = cur + cols; }
+            if (c > 0        && maze[r][c - 1] == 1 && dist[cur - 1] < 0)    { dist[cur - 1] = dist[cur] + 1;    queue[tail++] = cur - 1; }
+            if (c < cols - 1 && maze[r][c + 1] == 1 && dist[cur + 1] < 0)    { dist[cur + 1] = dist[cur] + 1;    queue[tail++] = cur + 1; }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,43 @@
+import java.util.Random;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                      MazeGenerator                          ║
+ * ║          Pluggable algorithms for carving a maze            ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * A generator carves a PERFECT maze (exactly one route between any two
+ * cells) on a size × size grid:
+ *   - cells sit at odd (row, col) positions and are all opened
+ *   - the walls between neighbouring cells are opened along a spanning tree
+ *   - the outer border stays solid
+ *
+ * MazeManager then removes a share of the remaining interior walls to
+ * add loops (see MazeManager.removeWalls), so every generator produces
+ * the same kind of braided maze the solvers expect.
+ *
+ * Select one with --generator backtracker | eller | wilson | kruskal.
+ */
+public interface MazeGenerator {
+
+    /**
+     * Carves a perfect maze.
+     *
+     * @param size  side length (odd)
+     * @param rng   the only source of randomness, for reproducibility
+     * @return 2D array: 0=wall, 1=path
+     */
+    int[][] generate(int size, Random rng);
+
+    /** Name used with --generator. */
+    String getName();
+
+    /**
+     * Bump when the maze carved for a given size and seed changes, so
+     * that mazes cached under the old version (see MazeCache) are not
+     * mistaken for the new ones.
+     */
+    default int getVersion() {
+        return 1;
+    }
+}
@@ -0,0 +1,327 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                      MazeImporter                           ║
+ * ║     Mazes produced elsewhere, streamed into a PackedGrid    ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * FORMATS (chosen by the first bytes of the file):
+ *   text   the 0/1 matrix of --print-maze, one row per line. Cells may be
+ *          separated by spaces, tabs or commas, or not at all ("0110").
+ *          Lines that do not start with 0 or 1 (the --print-maze header,
+ *          "#" comments) are skipped. 1 = path.
+ *   PBM    P1 (ASCII) or P4 (raw bits). Black (1) = wall, white = path.
+ *   PGM    P2 (ASCII) or P5 (raw, 8 or 16 bit). A sample brighter than
+ *          half of maxval is path, anything darker is wall.
+ *
+ * The file is read once, front to back, through one direct buffer of
+ * {@link #BUFFER_BYTES}; every byte is looked at exactly once and cells
+ * go straight into PackedGrid words, so no String or int[][] is ever
+ * built and a multi-GB file needs only the packed grid in memory (one
+ * bit per cell). For text, whose height is not known up front, the row
+ * count is estimated from the file size and the length of the first row.
+ *
+ * Start and end default to the first and last open cell in row-major
+ * order, which for a --print-maze file are {1, 1} and {size-2, size-2}.
+ */
+public final class MazeImporter {
+
+    static final int BUFFER_BYTES = 1 << 20;
+
+    /** An imported grid with its detected start and end. */
+    public static final class Result {
+        public final PackedGrid grid;
+        public final String format;
+        public final int[] start;
+        public final int[] end;
+
+        Result(PackedGrid grid, String format) {
+            this.grid = grid;
+            this.format = format;
+            this.start = firstOpen(grid);
+            this.end = lastOpen(grid);
+        }
+    }
+
+    private MazeImporter() {
+    }
+
+    /** Reads a text, PBM or PGM maze. */
+    public static Result read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            Input in = new Input(ch, file);
+            int b = in.peek();
+            if (b == 'P') {
+                in.read();
+                int kind = in.read() - '0';
+                if (kind < 1 || kind > 5 || kind == 3) {
+                    throw new IOException(file + ": unsupported PNM type P" + (char) (kind + '0'));
+                }
+                return readPnm(in, kind);
+            }
+            return new Result(readText(in, ch.size()), "text");
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    //  TEXT
+    // ─────────────────────────────────────────────
+
+    private static PackedGrid readText(Input in, long fileBytes) throws IOException {
+        long[] row = new long[1];
+        long[] bits = null;
+        int cols = -1, wordsPerRow = 0, rows = 0;
+        int c = 0;
+        long lineStart = 0;
+
+        for (int b = in.read(); ; b = in.read()) {
+            if (b == '0' || b == '1') {
+                if (c >>> 6 == row.length) row = Arrays.copyOf(row, row.length * 2);
+                if (b == '1') row[c >>> 6] |= 1L << c;
+                c++;
+            } else if (b == ' ' || b == '\t' || b == ',' || b == '\r') {
+                // separator
+            } else if (b == '\n' || b < 0) {
+                if (c > 0) {
+                    if (cols < 0) {
+                        cols = c;
+                        wordsPerRow = (cols + 63) >>> 6;
+                        // Every row is about as long as the first one
+                        long lineBytes = Math.max(1, in.position() - lineStart);
+                        long estimate = Math.min(fileBytes / lineBytes + 1, maxRows(cols));
+                        bits = new long[checkedWords(in, estimate, cols)];
+                    } else if (c != cols) {
+                        throw new IOException(in.file + ": row " + rows + " has " + c +
+                                " cells, expected " + cols);
+                    }
+                    int base = rows * wordsPerRow;
+                    if (base + wordsPerRow > bits.length) {
+                        long grown = Math.max(rows + 1, Math.min(2L * rows, maxRows(cols)));
+                        bits = Arrays.copyOf(bits, checkedWords(in, grown, cols));
+                    }
+                    System.arraycopy(row, 0, bits, base, wordsPerRow);
+                    Arrays.fill(row, 0, wordsPerRow, 0L);
+                    rows++;
+                    c = 0;
+                }
+                if (b < 0) break;
+                lineStart = in.position();
+            } else if (c == 0) {
+                in.skipLine(); // header or comment
+                lineStart = in.position();
+            } else {
+                throw new IOException(in.file + ": unexpected '" + (char) b + "' in row " + rows);
+            }
+        }
+        if (rows == 0) throw new IOException(in.file + ": no maze rows found");
+        int words = rows * wordsPerRow;
+        return new PackedGrid(rows, cols, bits.length == words ? bits : Arrays.copyOf(bits, words));
+    }
+
+    /** Most rows of {@code cols} cells a PackedGrid can hold. */
+    private static long maxRows(int cols) {
+        return (Integer.MAX_VALUE - 8) / ((cols + 63) >>> 6);
+    }
+
+    /** Words for {@code rows} rows of {@code cols} cells, if PackedGrid can hold them. */
+    private static int checkedWords(Input in, long rows, int cols) throws IOException {
+        if (rows > maxRows(cols)) throw new IOException(in.file + ": maze too large for a PackedGrid");
+        return (int) rows * ((cols + 63) >>> 6);
+    }
+
+    // ─────────────────────────────────────────────
+    //  PBM / PGM
+    // ─────────────────────────────────────────────
+
+    private static Result readPnm(Input in, int kind) throws IOException {
+        boolean bitmap = kind == 1 || kind == 4;
+        int cols = in.readHeaderInt();
+        int rows = in.readHeaderInt();
+        int maxval = bitmap ? 1 : in.readHeaderInt();
+        if (cols <= 0 || rows <= 0 || maxval <= 0 || maxval > 65535) {
+            throw new IOException(in.file + ": bad PNM header");
+        }
+        checkedWords(in, rows, cols);
+        PackedGrid grid = new PackedGrid(rows, cols);
+        long[] bits = grid.bits;
+        int wpr = grid.wordsPerRow;
+
+        switch (kind) {
+            case 1: // ASCII bitmap: 1 = black = wall
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        int b = in.skipWhitespace();
+                        if (b == '0') bits[r * wpr + (c >>> 6)] |= 1L << c;
+                        else if (b != '1') throw truncated(in, r);
+                    }
+                }
+                return new Result(grid, "PBM (P1)");
+
+            case 4: { // raw bitmap: rows padded to whole bytes, MSB first
+                in.read(); // the single whitespace after the header
+                int rowBytes = (cols + 7) >>> 3;
+                for (int r = 0; r < rows; r++) {
+                    int base = r * wpr;
+                    for (int i = 0; i < rowBytes; i++) {
+                        int b = in.read();
+                        if (b < 0) throw truncated(in, r);
+                        // Reverse so column 8i+k lands on bit k; invert: set = path
+                        long open = ~(Integer.reverse(b) >>> 24) & 0xFF;
+                        int c = i << 3;
+                        bits[base + (c >>> 6)] |= open << (c & 63);
+                    }
+                    clearPadding(bits, base, wpr, cols);
+                }
+                return new Result(grid, "PBM (P4)");
+            }
+
+            case 2: // ASCII graymap
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        int v = in.readSample();
+                        if (v < 0) throw truncated(in, r);
+                        if (2 * v > maxval) bits[r * wpr + (c >>> 6)] |= 1L << c;
+                    }
+                }
+                return new Result(grid, "PGM (P2)");
+
+            default: { // 5: raw graymap, big-endian when maxval > 255
+                in.read();
+                boolean wide = maxval > 255;
+                for (int r = 0; r < rows; r++) {
+                    int base = r * wpr;
+                    for (int c = 0; c < cols; c++) {
+                        int v = in.read();
+                        if (wide && v >= 0) v = (v << 8) | in.read();
+                        if (v < 0) throw truncated(in, r);
+                        if (2 * v > maxval) bits[base + (c >>> 6)] |= 1L << c;
+                    }
+                }
+                return new Result(grid, "PGM (P5)");
+            }
+        }
+    }
+
+    /** Padding bits past the last column must stay 0 (see PackedGrid). */
+    private static void clearPadding(long[] bits, int base, int wpr, int cols) {
+        if ((cols & 63) != 0) bits[base + wpr - 1] &= -1L >>> (64 - (cols & 63));
+    }
+
+    private static IOException truncated(Input in, int row) {
+        return new IOException(in.file + ": truncated or bad pixel data in row " + row);
+    }
+
+    // ─────────────────────────────────────────────
+    //  START / END DETECTION
+    // ─────────────────────────────────────────────
+
+    /** First open cell in row-major order, or null for an all-wall grid. */
+    static int[] firstOpen(PackedGrid grid) {
+        for (int w = 0; w < grid.bits.length; w++) {
+            if (grid.bits[w] != 0) {
+                int r = w / grid.wordsPerRow;
+                int c = (w - r * grid.wordsPerRow) * 64 + Long.numberOfTrailingZeros(grid.bits[w]);
+                return new int[]{r, c};
+            }
+        }
+        return null;
+    }
+
+    /** Last open cell in row-major order, or null for an all-wall grid. */
+    static int[] lastOpen(PackedGrid grid) {
+        for (int w = grid.bits.length - 1; w >= 0; w--) {
+            if (grid.bits[w] != 0) {
+                int r = w / grid.wordsPerRow;
+                int c = (w - r * grid.wordsPerRow) * 64 + 63 - Long.numberOfLeadingZeros(grid.bits[w]);
+                return new int[]{r, c};
+            }
+        }
+        return null;
+    }
+
+    // ─────────────────────────────────────────────
+    //  BYTE INPUT
+    // ─────────────────────────────────────────────
+
+    /** Byte-at-a-time reads over a FileChannel, refilled through one direct buffer. */
+    private static final class Input {
+        final Path file;
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private long consumed; // bytes before the current buffer contents
+
+        Input(FileChannel ch, Path file) {
+            this.ch = ch;
+            this.file = file;
+            buf.flip();
+        }
+
+        /** Next byte (0-255), or -1 at the end of the file. */
+        int read() throws IOException {
+            if (!buf.hasRemaining() && !fill()) return -1;
+            return buf.get() & 0xFF;
+        }
+
+        int peek() throws IOException {
+            if (!buf.hasRemaining() && !fill()) return -1;
+            return buf.get(buf.position()) & 0xFF;
+        }
+
+        /** Bytes read so far. */
+        long position() {
+            return consumed + buf.position();
+        }
+
+        void skipLine() throws IOException {
+            int b;
+            do b = read(); while (b >= 0 && b != '\n');
+        }
+
+        /** Skips whitespace (and PNM "#" comments); returns the next byte. */
+        int skipWhitespace() throws IOException {
+            while (true) {
+                int b = read();
+                if (b == '#') skipLine();
+                else if (b != ' ' && b != '\t' && b != '\n' && b != '\r') return b;
+            }
+        }
+
+        /** A decimal number in a PNM header. */
+        int readHeaderInt() throws IOException {
+            int v = readSample();
+            if (v < 0) throw new IOException(file + ": bad PNM header");
+            return v;
+        }
+
+        /** A whitespace-separated decimal number, or -1 if there is none. */
+        int readSample() throws IOException {
+            int b = skipWhitespace();
+            if (b < '0' || b > '9') return -1;
+            long v = 0;
+            do {
+                v = v * 10 + (b - '0');
+                if (v > Integer.MAX_VALUE) return -1;
+                if (!buf.hasRemaining() && !fill()) break;
+                b = buf.get(buf.position()) & 0xFF;
+                if (b < '0' || b > '9') break;
+                buf.get();
+            } while (true);
+            return (int) v;
+        }
+
+        private boolean fill() throws IOException {
+            consumed += buf.position();
+            buf.clear();
+            int n;
+            do n = ch.read(buf); while (n == 0);
+            buf.flip();
+            return n > 0;
+        }
+    }
+}
@@ -1,4 +1,9 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * ╔══════════════════════════════════════════════════════════════╗
@@ -11,18 +16,96 @@ import java.util.*;
  *
  *   # Run a single solver:
  *   java MazeManager --solver BFSSolver
- *   java MazeManager --solver DFSSolver --size 31 --delay 50
+ *   java MazeManager --solver FastDFSSolver --size 31 --delay 50
  *
  *   # Compare two solvers side by side:
- *   java MazeManager --compare BFSSolver DFSSolver
- *   java MazeManager --compare BFSSolver DFSSolver --size 25 --delay 80
+ *   java MazeManager --compare BFSSolver FastDFSSolver
+ *   java MazeManager --compare BFSSolver FastDFSSolver --size 25 --delay 80
  *
  *   # Options:
  *   --size  N     Maze size (odd number, 11-51, default 21)
- *   --delay N     Milliseconds between steps (10-2000, default 100)
+ *   --delay N     Minimum ms per step, 0 = full speed (0-2000, default 100)
+ *   --fps   N     Screen refreshes per second (1-120, default 30)
  *   --seed  N     Random seed for reproducible mazes
  *   --print-maze  Print the maze as a 0/1 matrix (for teaching)
  *   --nocolor     Disable ANSI colors (for terminals that don't support them)
+ *   --generator G Maze algorithm: backtracker (default), eller, wilson, kruskal
+ *
+ *   # Long solves without rendering, with crash recovery:
+ *   --headless             Solve without animation (allows sizes up to 46339)
+ *   --checkpoint FILE      Periodically save solver state to FILE (implies --headless)
+ *   --checkpoint-every N   Checkpoint every N steps
+ *   --checkpoint-secs  N   Checkpoint every N seconds (default 60)
+ *   --resume FILE          Continue a checkpointed solve where it left off
+ *   --time-startup         Print the time from launch to the first solver step
+ *
+ *   # Record what a solver explored, and play it back later without re-solving:
+ *   java MazeManager --solver BFSSolver --record bfs.log
+ *   java MazeManager --replay bfs.log --seek 200 --speed 4
+ *   --record FILE   Write the visited cells of every step to FILE
+ *                   (with --compare, the second solver goes to FILE.2)
+ *   --replay FILE   Animate a recorded solve
+ *   --seek N        Start the replay at step N
+ *   --speed N       Replay N recorded steps per --delay tick
+ *
+ *   # Nearest of K exits from M entrances, one pass vs M×K BFS solves:
+ *   java MazeManager --multi 4 8 --size 501
+ *
+ *   # Where and when a solver explored, to compare exploration profiles:
+ *   java MazeManager --solver BFSSolver --headless --size 1001 --seed 9 --heatmap bfs.png
+ *   java MazeManager --compare BFSSolver FastDFSSolver --seed 9 --heatmap explore.pgm
+ *   --heatmap F     Heatmap of the step each cell was first explored (.png or .pgm),
+ *                   plus .steps (int per cell) and .frontier.csv (frontier per step) files;
+ *                   with --compare, the second solver goes to F.2.png
+ *
+ *   # "Is there a path?" from a component index (O(1)) vs a BFS per query:
+ *   java MazeManager --reachable 1000 --size 2001 --threads 4
+ *
+ *   # Stream an arbitrarily tall Eller maze to a packed maze file (O(width) memory):
+ *   java MazeManager --stream-maze tall.maze --size 4001 --height 1000001
+ *
+ *   # Regression corpus: N mazes with reference shortest paths (see MazeCorpus):
+ *   java MazeManager --corpus corpus/ --count 2000 --sizes 21,51,101,501
+ *
+ *   # Time solvers on the same maze without rendering:
+ *   java MazeManager --bench BFSSolver,BitParallelBFSSolver --size 2001 --runs 5
+ *   java MazeManager --bench ParallelDFSSolver --threads 1,2,4,8,16,32,64 --size 4001
+ *
+ *   # BFS time per cell with row-major, Morton and 8x8-tiled state layouts:
+ *   java -Xmx2g MazeManager --layout-bench 1001,4001,16001,32001 --runs 3
+ *   --layouts L,L  Only these layouts (rowmajor, morton, tiled)
+ *
+ *   # Huge grids with a cap on the search state (maze generated packed, Eller):
+ *   java MazeManager --solver BeamSearchSolver --headless --size 32001 --max-memory 256m
+ *   java MazeManager --solver IDAStarSolver --headless --size 8001 --max-memory 16m
+ *   --max-memory B  Budget for IDAStarSolver / BeamSearchSolver (k, m, g suffixes);
+ *                   the result says whether the path is still a shortest one
+ *
+ *   # Solve many mazes back to back, reusing warmed solver instances:
+ *   java MazeManager --solver FastDFSSolver --batch 1000 --size 501 --threads 4
+ *   --batch N     Solve N mazes (seeds seed..seed+N-1); --threads T workers
+ *   --no-pool     New solver instance per maze, to compare against pooling
+ *
+ *   # Solve or benchmark a maze from another tool instead of a generated one:
+ *   java MazeManager --print-maze --size 31 --nocolor > maze.txt
+ *   java MazeManager --bench BFSSolver,FastDFSSolver --import maze.txt
+ *   java MazeManager --solver BFSSolver --import map.pgm --start 3,0 --end 511,1020
+ *   --import FILE  0/1 text (as written by --print-maze), PBM (P1/P4) or PGM (P2/P5)
+ *   --start R,C    Start cell (default: first open cell, row by row)
+ *   --end   R,C    End cell (default: last open cell)
+ *
+ *   # Generate each (size, seed, generator) once, then load it from disk:
+ *   java MazeManager --solver BFSSolver --headless --size 16001 --seed 5 --cache ~/.cache/mazes
+ *   --cache DIR        Keep generated mazes in DIR (packed, content-addressed by
+ *                      size, seed, generator, version and wall removal ratio)
+ *   --cache-budget B   Disk budget, least recently used mazes go first (default 1g)
+ *                      --batch mazes are always generated, never cached
+ *
+ *   # Budgets per solve (runs, --bench, --batch); a solver over budget is
+ *   # cancelled and reported as TIMEOUT or OOM-RISK, the others keep going:
+ *   --max-steps N      Steps per solve (default 64 per maze cell)
+ *   --timeout SECS     Wall-clock time per solve (default none)
+ *   --heap-budget B    Heap growth allowed, k/m/g suffix (default up to 90% of -Xmx)
  */
 public class MazeManager {
 
@@ -59,9 +142,12 @@ public class MazeManager {
     private static final int CELL_FINAL   = 6;
 
     // ─────────────────────────────────────────────
-    //  MAZE GENERATION — Recursive Backtracker
+    //  MAZE GENERATION
     // ─────────────────────────────────────────────
 
+    /** Share of removable interior walls opened after carving. */
+    public static final double DEFAULT_REMOVAL_RATIO = 0.30;
+
     /**
      * Generates a maze using iterative recursive backtracker, then removes
      * extra interior walls to create branches, loops, and a more open feel.
@@ -71,42 +157,32 @@ public class MazeManager {
      * @return 2D array: 0=wall, 1=path
      */
     public static int[][] generateMaze(int size, Random rng) {
-        if (size % 2 == 0) size++;
-        int[][] maze = new int[size][size];
-
-        // ── Phase 1: Carve a perfect maze (recursive backtracker) ──
-        int[][] carveDirs = {{0, 2}, {0, -2}, {2, 0}, {-2, 0}};
+        return generateMaze(size, rng, new BacktrackerGenerator(), DEFAULT_REMOVAL_RATIO);
+    }
 
-        Stack<int[]> stack = new Stack<>();
-        maze[1][1] = 1;
-        stack.push(new int[]{1, 1});
+    /**
+     * Generates a maze with the given generator, then opens
+     * {@code removalRatio} of the removable interior walls.
+     */
+    public static int[][] generateMaze(int size, Random rng, MazeGenerator generator,
+                                       double removalRatio) {
+        if (size % 2 == 0) size++;
 
-        while (!stack.isEmpty()) {
-            int[] current = stack.peek();
-            int cr = current[0], cc = current[1];
+        // ── Phase 1: Carve a perfect maze ──
+        int[][] maze = generator.generate(size, rng);
 
-            List<int[]> unvisited = new ArrayList<>();
-            for (int[] dir : carveDirs) {
-                int nr = cr + dir[0], nc = cc + dir[1];
-                if (nr > 0 && nr < size - 1 && nc > 0 && nc < size - 1
-                        && maze[nr][nc] == 0) {
-                    unvisited.add(dir);
-                }
-            }
+        // ── Phase 2: Remove extra walls to create branches and loops ──
+        removeWalls(maze, rng, removalRatio);
+        return maze;
+    }
 
-            if (!unvisited.isEmpty()) {
-                int[] dir = unvisited.get(rng.nextInt(unvisited.size()));
-                int br = cr + dir[0] / 2, bc = cc + dir[1] / 2;
-                int nr = cr + dir[0],     nc = cc + dir[1];
-                maze[br][bc] = 1;
-                maze[nr][nc] = 1;
-                stack.push(new int[]{nr, nc});
-            } else {
-                stack.pop();
-            }
-        }
+    /**
+     * Opens a random {@code ratio} share of the interior walls that
+     * separate two path cells, creating alternative routes.
+     */
+    public static void removeWalls(int[][] maze, Random rng, double ratio) {
+        int size = maze.length;
 
-        // ── Phase 2: Remove extra walls to create branches and loops ──
         // Collect all interior walls that separate two path cells.
         // Removing these creates alternative routes and a more open maze.
         List<int[]> removableWalls = new ArrayList<>();
@@ -128,15 +204,48 @@ public class MazeManager {
             }
         }
 
-        // Shuffle and remove ~30% of removable walls
+        // Shuffle and remove the requested share of removable walls
         Collections.shuffle(removableWalls, rng);
-        int toRemove = (int)(removableWalls.size() * 0.30);
+        int toRemove = (int)(removableWalls.size() * ratio);
         for (int i = 0; i < toRemove; i++) {
             int[] wall = removableWalls.get(i);
             maze[wall[0]][wall[1]] = 1;
         }
+    }
 
-        return maze;
+    /** --cache: generated mazes kept on disk, null = always generate. */
+    private static MazeCache cache;
+
+    /** Default --cache-budget. */
+    private static final long DEFAULT_CACHE_BUDGET = 1L << 30;
+
+    /**
+     * generateMaze(size, new Random(seed), ...), served from {@link #cache}
+     * when it is on and already holds this (size, seed, generator, ratio).
+     */
+    static int[][] cachedMaze(int size, long seed, MazeGenerator generator,
+                              double removalRatio) {
+        if (cache == null) return generateMaze(size, new Random(seed), generator, removalRatio);
+        int side = size | 1;
+        MazeCache.Key key = new MazeCache.Key(generator.getName(), generator.getVersion(),
+                side, side, seed, removalRatio);
+        return cache.getOrCreate(key, () -> PackedGrid.fromMaze(
+                generateMaze(side, new Random(seed), generator, removalRatio))).toMaze();
+    }
+
+    /** Looks up a generator by its --generator name. */
+    static MazeGenerator createGenerator(String name) {
+        switch (name) {
+            case "backtracker": return new BacktrackerGenerator();
+            case "eller":       return new EllerGenerator();
+            case "wilson":      return new WilsonGenerator();
+            case "kruskal":     return new KruskalGenerator();
+            default:
+                System.err.println("Error: unknown generator '" + name +
+                        "' (backtracker, eller, wilson, kruskal)");
+                System.exit(1);
+                return null; // unreachable
+        }
     }
 
     // ─────────────────────────────────────────────
@@ -149,7 +258,7 @@ public class MazeManager {
      */
     private static void renderMazes(int[][] display1, int[][] display2,
                                     String name1, String name2,
-                                    int steps1, int steps2,
+                                    long steps1, long steps2,
                                     int pathLen1, int pathLen2,
                                     boolean done1, boolean done2) {
         int size = display1.length;
@@ -253,8 +362,9 @@ public class MazeManager {
     // ─────────────────────────────────────────────
 
     private static int[][] buildDisplay(int[][] maze, int[] start, int[] end,
-                                        Set<Long> visited, List<int[]> path) {
+                                        DisplayBuffer.Frame frame, int solver) {
         int size = maze.length;
+        List<int[]> path = frame.paths[solver];
         int[][] display = new int[size][size];
 
         for (int r = 0; r < size; r++) {
@@ -265,7 +375,7 @@ public class MazeManager {
                     display[r][c] = CELL_END;
                 } else if (maze[r][c] == 0) {
                     display[r][c] = CELL_WALL;
-                } else if (visited.contains(coordKey(r, c))) {
+                } else if (frame.isVisited(solver, r * size + c)) {
                     display[r][c] = CELL_VISITED;
                 } else {
                     display[r][c] = CELL_PATH;
@@ -286,11 +396,6 @@ public class MazeManager {
         return display;
     }
 
-    /** Pack row,col into a single long for fast set lookups */
-    private static long coordKey(int r, int c) {
-        return ((long) r << 32) | (c & 0xFFFFFFFFL);
-    }
-
     /**
      * Builds a clean display showing ONLY the maze and the solved path in green.
      * Visited cells are reset to normal path color so the final path stands out.
@@ -325,89 +430,74 @@ public class MazeManager {
     //  SOLVER RUNNER
     // ─────────────────────────────────────────────
 
+    /** Frames per second for the animation (--fps). */
+    private static int fps = 30;
+
     /**
      * Runs one or two solvers with animated output.
+     *
+     * Each solver is stepped on its own thread against the shared, read-only
+     * maze, as fast as possible or at most one step per {@code delay} ms, so
+     * in compare mode a slow solver never holds back the fast one. This
+     * (main) thread redraws a snapshot {@link #fps} times per second, so a
+     * slow terminal never slows the solvers down either.
      */
     private static void runSolvers(MazeSolver solver1, MazeSolver solver2,
                                    int[][] maze, int[] start, int[] end,
-                                   int delay) throws Exception {
+                                   int delay, Path recordFile, Path heatmapFile) throws Exception {
         int size = maze.length;
+        MazeSolver[] solvers = solver2 != null ?
+                new MazeSolver[]{solver1, solver2} : new MazeSolver[]{solver1};
 
         // Init solvers
-        solver1.init(maze, start.clone(), end.clone());
-        if (solver2 != null) {
-            solver2.init(maze, start.clone(), end.clone());
+        for (MazeSolver solver : solvers) {
+            solver.init(maze, start.clone(), end.clone());
         }
 
-        // Tracking sets (for display — we read from solver's getVisitedThisStep)
-        Set<Long> visited1 = new HashSet<>();
-        Set<Long> visited2 = new HashSet<>();
-        visited1.add(coordKey(start[0], start[1]));
-        if (solver2 != null) visited2.add(coordKey(start[0], start[1]));
-
-        boolean done1 = false, done2 = false;
-        int steps1 = 0, steps2 = 0;
-        List<int[]> path1 = null, path2 = null;
+        DisplayBuffer buffer = new DisplayBuffer(solvers.length, size * size);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] startNanos = new long[1];
+        Thread[] steppers = new Thread[solvers.length];
+        SolverSupervisor.Watch[] watches = new SolverSupervisor.Watch[solvers.length];
+        ExplorationMap[] heatmaps = new ExplorationMap[solvers.length];
+        for (int i = 0; i < solvers.length; i++) {
+            DisplayBuffer.Lane lane = buffer.lane(i);
+            lane.markVisited(start[0] * size + start[1]);
+            MazeSolver solver = solvers[i];
+            ReplayLog.Writer recorder = recordFile == null ? null :
+                    new ReplayLog.Writer(recordPath(recordFile, i), maze, start, end, solver.getName());
+            ExplorationMap heatmap = heatmapFile == null ? null : new ExplorationMap(maze);
+            heatmaps[i] = heatmap;
+            final int id = i;
+            steppers[i] = new Thread(() -> stepSolver(solver, lane, size, delay, go, startNanos,
+                    recorder, heatmap, watches, id), "solver-" + (i + 1));
+            steppers[i].setDaemon(true);
+            steppers[i].start();
+        }
 
-        // Clear screen
+        // Clear screen, then release all solvers at the same instant
         System.out.print("\033[2J");
-
-        while (!done1 || (solver2 != null && !done2)) {
-            // Step solver 1
-            if (!done1) {
-                try {
-                    done1 = solver1.step();
-                    steps1++;
-                    for (int[] cell : solver1.getVisitedThisStep()) {
-                        visited1.add(coordKey(cell[0], cell[1]));
-                    }
-                    if (done1) {
-                        path1 = solver1.getPath();
-                    }
-                } catch (Exception e) {
-                    System.err.println("\n" + col(BOLD + "\033[31m") +
-                            "ERROR in " + solver1.getName() + ": " + e.getMessage() +
-                            col(RESET));
-                    e.printStackTrace();
-                    done1 = true;
-                }
-            }
-
-            // Step solver 2
-            if (solver2 != null && !done2) {
-                try {
-                    done2 = solver2.step();
-                    steps2++;
-                    for (int[] cell : solver2.getVisitedThisStep()) {
-                        visited2.add(coordKey(cell[0], cell[1]));
-                    }
-                    if (done2) {
-                        path2 = solver2.getPath();
-                    }
-                } catch (Exception e) {
-                    System.err.println("\n" + col(BOLD + "\033[31m") +
-                            "ERROR in " + solver2.getName() + ": " + e.getMessage() +
-                            col(RESET));
-                    e.printStackTrace();
-                    done2 = true;
-                }
-            }
-
-            // Render
-            int[][] display1 = buildDisplay(maze, start, end, visited1, path1);
-            int[][] display2 = solver2 != null ?
-                    buildDisplay(maze, start, end, visited2, path2) : null;
-
-            int pathLen1 = path1 != null ? path1.size() : 0;
-            int pathLen2 = path2 != null ? path2.size() : 0;
-
-            renderMazes(display1, display2,
-                    solver1.getName(),
-                    solver2 != null ? solver2.getName() : "",
-                    steps1, steps2, pathLen1, pathLen2, done1, done2);
-
-            Thread.sleep(delay);
+        startNanos[0] = System.nanoTime();
+        go.countDown();
+
+        // Render at a fixed frame rate until every solver is done
+        DisplayBuffer.Frame frame = new DisplayBuffer.Frame(solvers.length, size * size);
+        long frameMillis = Math.max(1, 1000 / fps);
+        while (true) {
+            buffer.read(frame);
+            renderFrame(maze, start, end, names(solvers), frame);
+            if (frame.allDone()) break;
+            Thread.sleep(frameMillis);
         }
+        // A solver abandoned inside step() never returns: don't wait for it
+        for (Thread stepper : steppers) stepper.join(SolverSupervisor.GRACE_MILLIS);
+
+        List<int[]> path1 = frame.paths[0];
+        List<int[]> path2 = solver2 != null ? frame.paths[1] : null;
+        long steps1 = frame.steps[0];
+        long steps2 = solver2 != null ? frame.steps[1] : 0;
+        long nanos1 = frame.wallNanos[0];
+        long nanos2 = solver2 != null ? frame.wallNanos[1] : 0;
 
         // Final text summary (printed first, will be overwritten by final render)
         // We store it and print AFTER the final maze render below the maze area
@@ -435,13 +525,38 @@ public class MazeManager {
         System.out.println(col(BOLD) + "  RESULTS" + col(RESET));
         System.out.println(col(BOLD) + "═══════════════════════════════════════" + col(RESET));
 
-        printResult(solver1.getName(), steps1, path1);
-        if (solver2 != null) {
-            printResult(solver2.getName(), steps2, path2);
+        // Paths are checked, not trusted: one BFS for both solvers
+        PathVerifier verifier = new PathVerifier(maze, start, end);
+        PathVerifier.Report check1 = verifier.verify(path1, true);
+        PathVerifier.Report check2 = solver2 != null ? verifier.verify(path2, true) : null;
 
+        printResult(solver1.getName(), steps1, path1, nanos1);
+        printStatus(watches[0]);
+        if (watches[0].getStatus() == SolverSupervisor.Status.OK) printCheck(check1);
+        printMemoryReport(solver1);
+        if (solver2 != null) {
+            printResult(solver2.getName(), steps2, path2, nanos2);
+            printStatus(watches[1]);
+            if (watches[1].getStatus() == SolverSupervisor.Status.OK) printCheck(check2);
+            printMemoryReport(solver2);
+        }
+        if (solver2 != null && watches[0].getStatus() == SolverSupervisor.Status.OK
+                && watches[1].getStatus() == SolverSupervisor.Status.OK) {
             // Comparison verdict
             System.out.println();
-            if (path1 != null && path2 != null && !path1.isEmpty() && !path2.isEmpty()) {
+            MazeSolver faster = nanos1 <= nanos2 ? solver1 : solver2;
+            System.out.printf("%s  → %s finished first, %.1f ms ahead%s%n",
+                    col(BOLD), faster.getName(), Math.abs(nanos1 - nanos2) / 1e6, col(RESET));
+            if (!check1.valid || !check2.valid) {
+                // An invalid path never wins on length
+                for (int i = 0; i < 2; i++) {
+                    PathVerifier.Report check = i == 0 ? check1 : check2;
+                    if (!check.valid) {
+                        System.out.println(col(BOLD + "\033[31m") + "  → " + solvers[i].getName() +
+                                " returned an invalid path, so it cannot win." + col(RESET));
+                    }
+                }
+            } else if (path1 != null && path2 != null && !path1.isEmpty() && !path2.isEmpty()) {
                 if (path1.size() < path2.size()) {
                     System.out.println(col(BOLD + "\033[32m") +
                             "  → " + solver1.getName() + " found a shorter path!" + col(RESET));
@@ -454,27 +569,907 @@ public class MazeManager {
                 }
             }
         }
+        if (recordFile != null) {
+            System.out.println();
+            for (int i = 0; i < solvers.length; i++) {
+                System.out.println("  Recorded " + solvers[i].getName() + " → " + recordPath(recordFile, i));
+            }
+        }
+        if (heatmapFile != null) {
+            System.out.println();
+            for (int i = 0; i < solvers.length; i++) {
+                writeHeatmap(solvers[i].getName(), heatmaps[i], heatmapPath(heatmapFile, i));
+            }
+        }
         System.out.println();
     }
 
-    private static void printResult(String name, int steps, List<int[]> path) {
-        System.out.printf("  %-20s  Steps: %-6d  Path length: %s%n",
+    /** Heatmap base of solver {@code i}: the --heatmap path itself, then NAME.2.png etc. */
+    private static Path heatmapPath(Path heatmapFile, int i) {
+        if (i == 0) return heatmapFile;
+        String name = heatmapFile.toString();
+        int dot = name.endsWith(".png") || name.endsWith(".pgm") ? name.length() - 4 : name.length();
+        return Paths.get(name.substring(0, dot) + "." + (i + 1) + name.substring(dot));
+    }
+
+    /** Exports an exploration map and prints where it went, with its summary. */
+    private static void writeHeatmap(String name, ExplorationMap heatmap, Path base) throws Exception {
+        long t0 = System.nanoTime();
+        Path[] files = heatmap.write(base);
+        int peak = heatmap.getPeakFrontier();
+        System.out.println("  Heatmap of " + name + " → " + files[0] + ", " + files[1] + ", " +
+                files[2] + " (" + (System.nanoTime() - t0) / 1_000_000 + " ms)");
+        System.out.println("    Steps: " + heatmap.getSteps() + "  |  Peak frontier: " +
+                (peak >= 0 ? peak : "not reported") + "  |  Cells seen again: " + heatmap.getRevisits());
+    }
+
+    /** Log file of solver {@code i}: the --record file itself, then FILE.2. */
+    private static Path recordPath(Path recordFile, int i) {
+        return i == 0 ? recordFile : Paths.get(recordFile + "." + (i + 1));
+    }
+
+    private static String[] names(MazeSolver[] solvers) {
+        String[] names = new String[solvers.length];
+        for (int i = 0; i < solvers.length; i++) names[i] = solvers[i].getName();
+        return names;
+    }
+
+    /**
+     * Body of one solver's thread: waits for {@code go}, then steps the
+     * solver until it is done, recording visited cells in its lane. The
+     * wall time is measured from the common start in {@code startNanos}.
+     * With {@code delay} > 0, steps are paced to one per {@code delay} ms;
+     * the clock is measured with the pauses included, like the animation.
+     * A non-null {@code recorder} gets every step's visited cells and the path,
+     * a non-null {@code heatmap} the visited cells and the frontier size.
+     *
+     * The solve runs under {@link #supervisor}; its watch goes into
+     * {@code watches[id]}. When it is cancelled the lane is finished
+     * without a path, by this thread or, if step() is stuck, the watchdog.
+     */
+    private static void stepSolver(MazeSolver solver, DisplayBuffer.Lane lane,
+                                   int size, int delay, CountDownLatch go, long[] startNanos,
+                                   ReplayLog.Writer recorder, ExplorationMap heatmap,
+                                   SolverSupervisor.Watch[] watches, int id) {
+        SolverSupervisor.Watch watch = supervisor.watch(solver.getName(), (long) size * size);
+        watches[id] = watch;
+        watch.onAbandon(() -> lane.finish(null, System.nanoTime() - startNanos[0]));
+        try {
+            go.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            watch.cancel(SolverSupervisor.Status.ERROR, "interrupted");
+            if (watch.settle()) lane.finish(null, 0);
+            return;
+        }
+        long stepNanos = delay * 1_000_000L;
+        long nextStep = startNanos[0];
+        List<int[]> path = null;
+
+        try {
+            boolean done = false;
+            long steps = 0;
+            while (!done && watch.check(steps)) {
+                // Rate limit: one step per `delay` ms (0 = unlimited)
+                if (stepNanos > 0) {
+                    nextStep += stepNanos;
+                    long wait = nextStep - System.nanoTime();
+                    if (wait > 0) LockSupport.parkNanos(wait);
+                }
+
+                done = solver.step();
+                steps++;
+                lane.countStep();
+                List<int[]> visited = solver.getVisitedThisStep();
+                for (int[] cell : visited) {
+                    lane.markVisited(cell[0] * size + cell[1]);
+                }
+                if (recorder != null) recorder.record(visited);
+                if (heatmap != null) heatmap.record(visited, solver.getFrontierSize());
+            }
+            if (done) path = solver.getPath();
+        } catch (Throwable e) {
+            watch.fail(e); // reported with the results, the other solvers keep going
+            path = null;
+        } finally {
+            // Also after a failed step(), so the log is complete and --replay can read it
+            if (recorder != null) {
+                try {
+                    recorder.finish(path);
+                } catch (Throwable e) {
+                    watch.fail(e);
+                    path = null;
+                }
+            }
+        }
+        if (watch.settle()) lane.finish(path, System.nanoTime() - startNanos[0]);
+    }
+
+    /** Draws one snapshot of one or two solvers. */
+    private static void renderFrame(int[][] maze, int[] start, int[] end,
+                                    String[] names, DisplayBuffer.Frame frame) {
+        boolean two = names.length > 1;
+        int[][] display1 = buildDisplay(maze, start, end, frame, 0);
+        int[][] display2 = two ? buildDisplay(maze, start, end, frame, 1) : null;
+
+        int pathLen1 = frame.paths[0] != null ? frame.paths[0].size() : 0;
+        int pathLen2 = two && frame.paths[1] != null ? frame.paths[1].size() : 0;
+
+        renderMazes(display1, display2,
+                names[0],
+                two ? names[1] : "",
+                frame.steps[0], two ? frame.steps[1] : 0,
+                pathLen1, pathLen2,
+                frame.done[0], !two || frame.done[1]);
+    }
+
+    private static void printResult(String name, long steps, List<int[]> path, long nanos) {
+        System.out.printf("  %-20s  Steps: %-6d  Path length: %-6s  Time: %.1f ms%n",
                 name, steps,
-                (path != null && !path.isEmpty()) ? path.size() : "no path found");
+                (path != null && !path.isEmpty()) ? path.size() : "no path found",
+                nanos / 1e6);
+    }
+
+    /** What {@link PathVerifier} made of a finished solve's path. */
+    private static void printCheck(PathVerifier.Report check) {
+        String color = check.valid ? "" : BOLD + "\033[31m";
+        System.out.printf("  %-20s  Path check: %s%s%s%n", "", col(color), check,
+                check.valid ? "" : col(RESET));
+    }
+
+    /** The supervisor's verdict, when the solve did not end normally. */
+    private static void printStatus(SolverSupervisor.Watch watch) {
+        if (watch == null || watch.getStatus() == SolverSupervisor.Status.OK) return;
+        System.out.printf("  %-20s  %s%s: %s%s%n", "", col(BOLD + "\033[31m"),
+                watch.getStatus(), watch.getReason(), col(RESET));
+    }
+
+    /** For a {@link MemoryBoundedSolver}: memory used, and whether the answer is exact. */
+    private static void printMemoryReport(MazeSolver solver) {
+        if (!(solver instanceof MemoryBoundedSolver)) return;
+        MemoryBoundedSolver bounded = (MemoryBoundedSolver) solver;
+        System.out.printf("  %-20s  Peak search memory: %.1f MB  |  Optimal: %s%n", "",
+                bounded.getPeakMemory() / (double) (1 << 20),
+                bounded.isOptimal() ? "yes" : "not guaranteed (budget pruned the search)");
+    }
+
+    // ─────────────────────────────────────────────
+    //  HEADLESS RUNNER (checkpoint / resume)
+    // ─────────────────────────────────────────────
+
+    /** Largest maze accepted without rendering (linear cell indices must fit in an int). */
+    private static final int MAX_HEADLESS_SIZE = 46339;
+
+    /** Default checkpoint interval when only a checkpoint file is given. */
+    private static final long DEFAULT_CHECKPOINT_SECS = 60;
+
+    /** --time-startup: report the time from process launch to the first step. */
+    private static boolean timeStartup = false;
+
+    /** Step, time and heap budgets for runSolvers, --bench and --batch. */
+    private static SolverSupervisor supervisor = new SolverSupervisor(0, 0, 0);
+
+    /** --max-memory: search-state budget for {@link MemoryBoundedSolver}s (0 = their default). */
+    private static long maxMemory = 0;
+
+    /**
+     * Prints the time from launch to now. A launcher can pass its own clock
+     * as -Dmazes.launchMicros=<epoch µs>, which also counts the time spent
+     * before the JVM (or native image) starts; otherwise the OS process
+     * start time is used, which Linux only keeps to 10 ms.
+     */
+    private static void reportStartup() {
+        Instant now = Instant.now();
+        long nowMicros = now.getEpochSecond() * 1_000_000 + now.getNano() / 1000;
+        String launch = System.getProperty("mazes.launchMicros");
+        long launchMicros = launch != null ? Long.parseLong(launch) :
+                ProcessHandle.current().info().startInstant()
+                        .map(t -> t.toEpochMilli() * 1000).orElse(nowMicros);
+        System.out.printf("Startup to first step: %.1f ms%n", (nowMicros - launchMicros) / 1000.0);
+    }
+
+    /**
+     * Runs a single solver without rendering. When {@code checkpointFile} is
+     * set and the solver is {@link Checkpointable}, its state is written every
+     * {@code everySteps} steps and/or every {@code everySecs} seconds. When
+     * {@code resume} is set, the solver continues from that checkpoint.
+     * The solve runs under {@link #supervisor}, like every other mode.
+     */
+    private static void runHeadless(MazeSolver solver, int[][] maze, int[] start, int[] end,
+                                    long seed, Path checkpointFile,
+                                    long everySteps, long everySecs,
+                                    SolverCheckpoint resume, Path recordFile,
+                                    Path heatmapFile) throws Exception {
+        solver.init(maze, start.clone(), end.clone());
+
+        long steps = 0;
+        if (resume != null) {
+            ((Checkpointable) solver).restoreState(resume);
+            steps = resume.steps;
+            System.out.println("Resumed " + solver.getName() + " at step " + steps);
+        }
+
+        boolean checkpointing = checkpointFile != null && solver instanceof Checkpointable;
+        if (checkpointFile != null && !checkpointing) {
+            System.err.println("Warning: " + solver.getName() +
+                    " does not support checkpoints; running without them.");
+        }
+        long[] packedMaze = checkpointing ? SolverCheckpoint.packMaze(maze) : null;
+
+        // A resumed solve would be missing its first steps, so it is not recorded
+        if (recordFile != null && resume != null) {
+            System.err.println("Warning: --record is ignored when resuming.");
+            recordFile = null;
+        }
+        ReplayLog.Writer recorder = recordFile == null ? null :
+                new ReplayLog.Writer(recordFile, maze, start, end, solver.getName());
+        if (heatmapFile != null && resume != null) {
+            System.err.println("Warning: --heatmap is ignored when resuming.");
+            heatmapFile = null;
+        }
+        ExplorationMap heatmap = heatmapFile == null ? null : new ExplorationMap(maze);
+
+        long nextStep = everySteps > 0 ? steps + everySteps : Long.MAX_VALUE;
+        long intervalNanos = everySecs * 1_000_000_000L;
+        long nextTime = everySecs > 0 ? System.nanoTime() + intervalNanos : Long.MAX_VALUE;
+
+        SolverSupervisor.Watch watch = supervisor.watch(solver.getName(),
+                (long) maze.length * maze[0].length);
+        List<int[]> path = null;
+        long t0 = System.nanoTime();
+        try {
+            boolean done = false;
+            while (!done && watch.check(steps)) {
+                done = solver.step();
+                steps++;
+                if (timeStartup && steps == 1) reportStartup();
+                if (recorder != null) recorder.record(solver.getVisitedThisStep());
+                if (heatmap != null) heatmap.record(solver.getVisitedThisStep(), solver.getFrontierSize());
+
+                // The clock is only read every 1024 steps to keep the loop cheap
+                if (checkpointing && !done && (steps >= nextStep ||
+                        ((steps & 1023) == 0 && System.nanoTime() >= nextTime))) {
+                    SolverCheckpoint cp = new SolverCheckpoint();
+                    cp.solverClass = solver.getClass().getName();
+                    cp.seed = seed;
+                    cp.steps = steps;
+                    cp.rows = maze.length;
+                    cp.cols = maze[0].length;
+                    cp.start = start;
+                    cp.end = end;
+                    cp.maze = packedMaze;
+                    ((Checkpointable) solver).saveState(cp);
+                    cp.write(checkpointFile);
+                    System.out.println("Checkpoint at step " + steps + " → " + checkpointFile);
+
+                    if (everySteps > 0) nextStep = steps + everySteps;
+                    if (everySecs > 0) nextTime = System.nanoTime() + intervalNanos;
+                }
+            }
+            if (done) path = solver.getPath();
+        } catch (Throwable e) {
+            watch.fail(e);
+        } finally {
+            watch.settle();
+            // Also after a cancelled or failed solve, so --replay can still read the log
+            if (recorder != null) recorder.finish(path);
+        }
+        long elapsed = System.nanoTime() - t0;
+
+        System.out.println();
+        printResult(solver.getName(), steps, path, elapsed);
+        printStatus(watch);
+        if (watch.getStatus() == SolverSupervisor.Status.OK) {
+            printCheck(new PathVerifier(maze, start, end).verify(path, true));
+            printMemoryReport(solver);
+        }
+        if (recorder != null) System.out.println("  Recorded → " + recordFile);
+        if (heatmap != null) writeHeatmap(solver.getName(), heatmap, heatmapFile);
+        System.out.println();
+    }
+
+    /**
+     * Headless solve of a maze that never exists as int[][]: an Eller maze
+     * generated straight into a PackedGrid, or an imported one, so with a
+     * memory-bounded solver the whole run fits in roughly cells / 8 bytes
+     * plus the budget. The solve runs under {@link #supervisor}.
+     */
+    private static void runBounded(MemoryBoundedSolver solver, PackedGrid grid,
+                                   int[] start, int[] end) {
+        SolverSupervisor.Watch watch = supervisor.watch(solver.getName(), (long) grid.rows * grid.cols);
+        List<int[]> path = null;
+        long steps = 0;
+        long t0 = System.nanoTime();
+        try {
+            solver.init(grid, start.clone(), end.clone());
+            boolean done = false;
+            while (!done && watch.check(steps)) {
+                done = solver.step();
+                steps++;
+            }
+            if (done) path = solver.getPath();
+        } catch (Throwable e) {
+            watch.fail(e);
+        } finally {
+            watch.settle();
+        }
+        long elapsed = System.nanoTime() - t0;
+
+        System.out.println();
+        printResult(solver.getName(), steps, path, elapsed);
+        printStatus(watch);
+        // No shortest-path comparison: its BFS would need 8 bytes per cell
+        if (watch.getStatus() == SolverSupervisor.Status.OK) {
+            printCheck(new PathVerifier(grid, start, end).verify(path, false));
+            printMemoryReport(solver);
+        }
+        System.out.println();
+    }
+
+    // ─────────────────────────────────────────────
+    //  REPLAY (--replay)
+    // ─────────────────────────────────────────────
+
+    /**
+     * Animates a recorded solve through the normal renderer. Steps before
+     * {@code seekTo} are applied at once; after that, {@code speed} recorded
+     * steps are played per {@code delay} ms tick (delay 0 = as fast as
+     * possible). Mazes too big to draw only get the summary.
+     */
+    private static void runReplay(ReplayLog.Reader log, long seekTo, int speed,
+                                  int delay) throws Exception {
+        int[][] maze = log.maze;
+        int size = maze.length;
+        String name = "Replay: " + log.solverName;
+        List<int[]> path = log.getPath();
+
+        System.out.println(col(BOLD) + "Maze size: " + size + "x" + maze[0].length +
+                "  |  Recorded steps: " + log.totalSteps + col(RESET));
+        if (size > 51 || maze[0].length != size) {
+            System.out.println("Too large to animate.");
+            System.out.printf("  %-20s  Steps: %-6d  Path length: %s%n%n", name, log.totalSteps,
+                    path.isEmpty() ? "no path found" : path.size());
+            return;
+        }
+
+        DisplayBuffer buffer = new DisplayBuffer(1, size * size);
+        DisplayBuffer.Lane lane = buffer.lane(0);
+        lane.markVisited(log.start[0] * size + log.start[1]);
+        for (long s = 0; s < seekTo && replayStep(log, lane); s++) { }
+
+        // A corrupt block stops the player; the error is rethrown once the frame loop ends
+        RuntimeException[] failure = new RuntimeException[1];
+        Thread player = new Thread(() -> {
+            long tickNanos = delay * 1_000_000L;
+            long nextTick = System.nanoTime();
+            boolean more = true;
+            try {
+                while (more) {
+                    if (tickNanos > 0) {
+                        nextTick += tickNanos;
+                        long wait = nextTick - System.nanoTime();
+                        if (wait > 0) LockSupport.parkNanos(wait);
+                    }
+                    for (int i = 0; i < speed && more; i++) more = replayStep(log, lane);
+                }
+            } catch (RuntimeException e) {
+                failure[0] = e;
+            } finally {
+                lane.finish(failure[0] == null ? path : null, 0);
+            }
+        }, "replay");
+        player.setDaemon(true);
+
+        System.out.print("\033[2J");
+        player.start();
+        DisplayBuffer.Frame frame = new DisplayBuffer.Frame(1, size * size);
+        long frameMillis = Math.max(1, 1000 / fps);
+        String[] names = {name};
+        while (true) {
+            buffer.read(frame);
+            renderFrame(maze, log.start, log.end, names, frame);
+            if (frame.allDone()) break;
+            Thread.sleep(frameMillis);
+        }
+        player.join();
+        if (failure[0] != null) throw failure[0];
+
+        Thread.sleep(500);
+        System.out.print("\033[2J");
+        renderMazes(buildFinalDisplay(maze, log.start, log.end, path), null,
+                name + " ✓", "", log.totalSteps, 0, path.size(), 0, true, true);
+        System.out.println();
+    }
+
+    /** Feeds one recorded step into the lane; false once the log is exhausted. */
+    private static boolean replayStep(ReplayLog.Reader log, DisplayBuffer.Lane lane) {
+        int[] cells = log.next();
+        if (cells == null) return false;
+        lane.countStep();
+        for (int cell : cells) lane.markVisited(cell);
+        return true;
+    }
+
+    // ─────────────────────────────────────────────
+    //  BENCHMARK (no rendering)
+    // ─────────────────────────────────────────────
+
+    /**
+     * Solves the same maze {@code runs} times with each solver (after one
+     * untimed warm-up run) and prints the median solve time. Runs reuse one
+     * instance through {@link #POOL}; solvers that cannot be reset get a
+     * fresh instance every run.
+     *
+     * {@link ParallelSolver}s are run once per entry of {@code threadCounts}
+     * (or with their default when it is null). The speedup column is
+     * relative to the first row, so put a serial baseline first.
+     *
+     * Every solve runs under {@link #supervisor}; a solver that is
+     * cancelled gets its status instead of timings, and is not pooled.
+     * Every path is checked by a {@link PathVerifier} outside the timed
+     * part; "Check" is "shortest", how many cells longer than the
+     * shortest path it was, or INVALID (with the reason printed below).
+     */
+    private static void runBenchmark(List<String> solverNames, int[][] maze,
+                                     int[] start, int[] end, int runs, int[] threadCounts) {
+        System.out.printf("  %-28s  %10s  %8s  %12s  %8s  %s%n",
+                "Solver", "Steps", "Path", "Median ms", "Speedup", "Check");
+        PathVerifier verifier = new PathVerifier(maze, start, end);
+        double baseline = 0;
+        for (String name : solverNames) {
+            MazeSolver probe = POOL.acquire(name);
+            boolean parallel = probe instanceof ParallelSolver;
+            POOL.release(name, probe);
+            int[] counts = parallel && threadCounts != null ? threadCounts : new int[]{0};
+            for (int threads : counts) {
+                MazeSolver solver = createBenchSolver(name, threads);
+                SolverSupervisor.Outcome run = supervisor.solve(solver, maze, start, end); // warm-up
+                String solverName = solver.getName();
+                if (!run.ok()) {
+                    printBenchFailure(solverName, run);
+                    continue;
+                }
+                POOL.release(name, solver);
+                PathVerifier.Report check = verifier.verify(run.path, true);
+
+                long[] nanos = new long[runs];
+                long steps = 0;
+                int pathLen = 0;
+                for (int i = 0; i < runs && run.ok(); i++) {
+                    solver = createBenchSolver(name, threads);
+                    run = supervisor.solve(solver, maze, start, end);
+                    if (!run.ok()) break;
+                    nanos[i] = run.nanos;
+                    steps = run.steps;
+                    pathLen = run.path.size();
+                    POOL.release(name, solver);
+                    if (check.valid) check = verifier.verify(run.path, true);
+                }
+                if (!run.ok()) {
+                    printBenchFailure(solverName, run);
+                    continue;
+                }
+                Arrays.sort(nanos);
+                double median = nanos[runs / 2] / 1e6;
+                if (baseline == 0) baseline = median;
+                System.out.printf("  %-28s  %10d  %8s  %12.2f  %7.2fx  %s%n", solverName, steps,
+                        pathLen > 0 ? pathLen : "none", median, baseline / median,
+                        !check.valid ? "INVALID" : check.isOptimal() ? "shortest"
+                                : "+" + (check.length - check.shortest));
+                if (!check.valid) System.out.printf("  %-28s  %s%n", "", check.problem);
+            }
+        }
+        System.out.println();
+    }
+
+    private static void printBenchFailure(String solverName, SolverSupervisor.Outcome run) {
+        System.out.printf("  %-28s  %10d  %8s  %s: %s%n", solverName, run.steps, "-",
+                run.status, run.reason);
+    }
+
+    /** A pooled solver, plus the thread count for parallel solvers (0 = default). */
+    private static MazeSolver createBenchSolver(String name, int threads) {
+        MazeSolver solver = POOL.acquire(name);
+        if (threads > 0 && solver instanceof ParallelSolver) {
+            ((ParallelSolver) solver).setThreads(threads);
+        }
+        return solver;
+    }
+
+    // ─────────────────────────────────────────────
+    //  LAYOUT BENCHMARK (--layout-bench)
+    // ─────────────────────────────────────────────
+
+    /** Side of the grid whose BFS state stays in L1/L2: the no-stall baseline. */
+    private static final int RESIDENT_SIZE = 127;
+
+    /**
+     * Times LayoutBFSSolver with each layout on Eller mazes of each size
+     * (generated straight into a PackedGrid, so 32k grids fit in memory)
+     * and prints the time per visited cell.
+     *
+     * There are no hardware counters in plain Java, so the stall share is
+     * estimated: the same layout on a {@link #RESIDENT_SIZE} grid, whose
+     * arrays stay in cache, gives the cost of the work itself per cell, and
+     * whatever a big grid adds on top is counted as waiting for memory.
+     * "Recovered" is how much of row-major's stall a layout wins back.
+     */
+    private static void runLayoutBenchmark(int[] sizes, GridLayout.Kind[] kinds,
+                                           int runs, long seed) {
+        System.out.printf("  %-7s  %-10s  %14s  %10s  %8s  %6s  %9s%n",
+                "Size", "Layout", "Cells visited", "Median ms", "ns/cell", "Stall", "Recovered");
+
+        PackedGrid resident = streamGrid(RESIDENT_SIZE, seed);
+        double[] residentNs = new double[kinds.length];
+        for (int k = 0; k < kinds.length; k++) {
+            long[] t = timeLayout(kinds[k], resident, Math.max(runs, 200));
+            residentNs[k] = (double) t[0] / t[1];
+            System.out.printf("  %-7d  %-10s  %14d  %10.3f  %8.2f  %6s  %9s%n", RESIDENT_SIZE,
+                    kinds[k], t[1], t[0] / 1e6, residentNs[k], "-", "-");
+        }
+
+        for (int size : sizes) {
+            PackedGrid grid = streamGrid(size, seed);
+            double rowMajorNs = 0, rowMajorResident = 0;
+            for (int k = 0; k < kinds.length; k++) {
+                long[] t;
+                try {
+                    t = timeLayout(kinds[k], grid, runs);
+                } catch (IllegalArgumentException | OutOfMemoryError e) {
+                    System.out.printf("  %-7d  %-10s  %s%n", size, kinds[k], e.getMessage());
+                    continue;
+                }
+                double ns = (double) t[0] / t[1];
+                double stall = Math.max(0, 1 - residentNs[k] / ns);
+                String recovered = "-";
+                if (kinds[k] == GridLayout.Kind.ROW_MAJOR) {
+                    rowMajorNs = ns;
+                    rowMajorResident = residentNs[k];
+                } else if (rowMajorNs > rowMajorResident) {
+                    recovered = String.format("%.0f%%",
+                            100 * (rowMajorNs - ns) / (rowMajorNs - rowMajorResident));
+                }
+                System.out.printf("  %-7d  %-10s  %14d  %10.1f  %8.2f  %5.0f%%  %9s%n", size,
+                        kinds[k], t[1], t[0] / 1e6, ns, 100 * stall, recovered);
+            }
+        }
+        System.out.println();
+    }
+
+    /** Median solve time in ns and cells visited, after one warm-up solve. */
+    private static long[] timeLayout(GridLayout.Kind kind, PackedGrid grid, int runs) {
+        LayoutBFSSolver solver = new LayoutBFSSolver(kind);
+        int[] start = {1, 1};
+        int[] end = {grid.rows - 2, grid.cols - 2};
+        long[] nanos = new long[runs];
+        long steps = 0;
+        for (int i = -1; i < runs; i++) {
+            solver.init(grid, start, end); // builds the layout: not timed
+            long t0 = System.nanoTime();
+            steps = 0;
+            do steps++; while (!solver.step());
+            if (i >= 0) nanos[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(nanos);
+        return new long[]{nanos[runs / 2], steps};
+    }
+
+    /** An Eller maze generated row by row straight into a PackedGrid (or from {@link #cache}). */
+    private static PackedGrid streamGrid(int size, long seed) {
+        if (cache == null) return generateGrid(size, seed);
+        // Streamed Eller braids while carving, so its mazes differ from --generator eller
+        MazeCache.Key key = new MazeCache.Key("eller-stream", new EllerGenerator().getVersion(),
+                size, size, seed, DEFAULT_REMOVAL_RATIO);
+        return cache.getOrCreate(key, () -> generateGrid(size, seed));
+    }
+
+    private static PackedGrid generateGrid(int size, long seed) {
+        PackedGrid grid = new PackedGrid(size, size);
+        try {
+            new EllerGenerator().stream(size, size, new Random(seed), DEFAULT_REMOVAL_RATIO,
+                    (r, bits) -> System.arraycopy(bits, 0, grid.bits,
+                            r * grid.wordsPerRow, grid.wordsPerRow));
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e); // in-memory sink never throws
+        }
+        return grid;
+    }
+
+    // ─────────────────────────────────────────────
+    //  BATCH (many mazes, reused solvers)
+    // ─────────────────────────────────────────────
+
+    /** Solver instances reused by --bench and --batch. */
+    private static final SolverPool POOL = new SolverPool(MazeManager::createSolver);
+
+    /**
+     * Solves {@code count} mazes (seeds seed, seed+1, ...) with one solver
+     * class on {@code threads} worker threads. With {@code pooled}, each
+     * worker reuses warmed instances from {@link #POOL}; without it, every
+     * maze gets a new instance, for comparison. Only init() + stepping is
+     * timed; generating the mazes is not.
+     *
+     * Each solve runs under {@link #supervisor} on its own thread, so a
+     * solve that hangs or blows up is cancelled, counted by status and
+     * skipped, and the worker goes on with its next maze.
+     */
+    private static void runBatch(String name, int count, int size, long seed,
+                                 int threads, boolean pooled) throws InterruptedException {
+        long[] solveNanos = new long[threads];
+        int[] found = new int[threads];
+        int[] invalid = new int[threads];
+        int[][] failed = new int[threads][SolverSupervisor.Status.values().length];
+        int[] start = {1, 1};
+        int[] end = {size - 2, size - 2};
+
+        Thread[] workers = new Thread[threads];
+        long wall0 = System.nanoTime();
+        for (int w = 0; w < threads; w++) {
+            final int id = w;
+            workers[w] = new Thread(() -> {
+                for (int i = id; i < count; i += threads) {
+                    // Not through --cache: a one-off batch would push out the mazes worth keeping
+                    int[][] maze = generateMaze(size, new Random(seed + i), new BacktrackerGenerator(),
+                            DEFAULT_REMOVAL_RATIO);
+                    // Untimed first solve: warms the code and, pooled, the buffers
+                    if (i == id) {
+                        MazeSolver warm = pooled ? POOL.acquire(name) : createSolver(name);
+                        if (supervisor.solve(warm, maze, start, end).ok() && pooled) {
+                            POOL.release(name, warm);
+                        }
+                    }
+
+                    MazeSolver solver = pooled ? POOL.acquire(name) : createSolver(name);
+                    SolverSupervisor.Outcome run = supervisor.solve(solver, maze, start, end);
+                    if (!run.ok()) {
+                        failed[id][run.status.ordinal()]++; // the instance is not reused
+                        continue;
+                    }
+                    solveNanos[id] += run.nanos;
+                    if (!run.path.isEmpty()) found[id]++;
+                    // Shape only: a shortest-path check would cost a BFS per maze
+                    if (!new PathVerifier(maze, start, end).verify(run.path, false).valid) {
+                        invalid[id]++;
+                    }
+                    if (pooled) POOL.release(name, solver);
+                }
+            }, "batch-" + w);
+            workers[w].start();
+        }
+        for (Thread t : workers) t.join();
+        long wallMs = (System.nanoTime() - wall0) / 1_000_000;
+
+        long total = Arrays.stream(solveNanos).sum();
+        System.out.printf("  %d mazes, %d threads, %s%n", count, threads,
+                pooled ? "pooled instances" : "a new instance per maze");
+        System.out.printf("  Solve time: %.1f ms total, %.3f ms per maze  |  Paths found: %d%n",
+                total / 1e6, total / 1e6 / count, Arrays.stream(found).sum());
+        int invalidPaths = Arrays.stream(invalid).sum();
+        if (invalidPaths > 0) System.out.println("  INVALID paths: " + invalidPaths + " mazes");
+        for (SolverSupervisor.Status status : SolverSupervisor.Status.values()) {
+            int n = 0;
+            for (int[] f : failed) n += f[status.ordinal()];
+            if (n > 0) System.out.println("  " + status + ": " + n + " mazes");
+        }
+        if (pooled) {
+            System.out.println("  Instances created: " + POOL.getCreated() +
+                    ", reused: " + POOL.getReused());
+        }
+        System.out.println("  Wall time (with maze generation): " + wallMs + " ms");
+        System.out.println();
+    }
+
+    // ─────────────────────────────────────────────
+    //  MULTI-SOURCE / MULTI-TARGET COMPARISON
+    // ─────────────────────────────────────────────
+
+    /**
+     * Picks up to {@code count} distinct open cells on row/column {@code line}
+     * (e.g. 1 for entrances along the top and left edges, size-2 for exits
+     * along the bottom and right edges). {@code first} is always included.
+     */
+    private static int[][] pickEdgeCells(int[][] maze, int line, int[] first,
+                                         int count, Random rng) {
+        int size = maze.length;
+        List<int[]> candidates = new ArrayList<>();
+        for (int i = 1; i < size - 1; i++) {
+            if (maze[line][i] == 1 && i != first[1]) candidates.add(new int[]{line, i});
+            if (maze[i][line] == 1 && i != line && i != first[0]) candidates.add(new int[]{i, line});
+        }
+        Collections.shuffle(candidates, rng);
+
+        int n = Math.min(count, candidates.size() + 1);
+        int[][] cells = new int[n][];
+        cells[0] = first;
+        for (int i = 1; i < n; i++) {
+            cells[i] = candidates.get(i - 1);
+        }
+        return cells;
+    }
+
+    /**
+     * Finds the nearest (entrance, exit) pair with one MultiSourceBFSSolver
+     * pass and with one BFSSolver run per pair, then labels every cell with
+     * its nearest entrance, and prints timings for all three.
+     */
+    private static void runMulti(int[][] maze, int[][] entrances, int[][] exits) {
+        System.out.println(entrances.length + " entrances, " + exits.length + " exits");
+        System.out.println();
+
+        // ── One multi-source pass ──
+        MultiSourceBFSSolver multi = new MultiSourceBFSSolver();
+        long t0 = System.nanoTime();
+        multi.init(maze, entrances, exits);
+        long steps = 0;
+        do steps++; while (!multi.step());
+        long multiMs = (System.nanoTime() - t0) / 1_000_000;
+        List<int[]> best = multi.getPath();
+
+        // ── Repeated single-pair BFS ──
+        t0 = System.nanoTime();
+        long bfsSteps = 0;
+        int bfsBest = Integer.MAX_VALUE;
+        for (int[] s : entrances) {
+            for (int[] e : exits) {
+                MazeSolver bfs = new BFSSolver();
+                bfs.init(maze, s.clone(), e.clone());
+                do bfsSteps++; while (!bfs.step());
+                List<int[]> p = bfs.getPath();
+                if (!p.isEmpty()) bfsBest = Math.min(bfsBest, p.size());
+            }
+        }
+        long bfsMs = (System.nanoTime() - t0) / 1_000_000;
+
+        // ── Voronoi labelling: nearest entrance for every cell ──
+        MultiSourceBFSSolver labeller = new MultiSourceBFSSolver();
+        labeller.setLabelAll(true);
+        t0 = System.nanoTime();
+        labeller.init(maze, entrances, new int[0][]);
+        while (!labeller.step()) { }
+        long labelMs = (System.nanoTime() - t0) / 1_000_000;
+
+        int cells = maze.length * maze[0].length;
+        int[] perEntrance = new int[entrances.length];
+        int[] labels = labeller.getLabels();
+        for (int i = 0; i < cells; i++) {
+            if (labels[i] >= 0) perEntrance[labels[i]]++;
+        }
+
+        int src = multi.getReachedSource(), dst = multi.getReachedTarget();
+        System.out.printf("  %-22s  Steps: %-9d  Path length: %-6s  Time: %d ms%n",
+                multi.getName(), steps, best.isEmpty() ? "none" : best.size(), multiMs);
+        System.out.printf("  %-22s  Steps: %-9d  Path length: %-6s  Time: %d ms%n",
+                entrances.length * exits.length + " × BFSSolver", bfsSteps,
+                bfsBest == Integer.MAX_VALUE ? "none" : bfsBest, bfsMs);
+        if (src >= 0) {
+            System.out.println("  Nearest pair: entrance {" + entrances[src][0] + ", " +
+                    entrances[src][1] + "} → exit {" + exits[dst][0] + ", " + exits[dst][1] + "}");
+        }
+        System.out.println();
+        System.out.println("  Nearest-entrance labelling: " + labelMs + " ms");
+        for (int i = 0; i < entrances.length; i++) {
+            System.out.printf("    entrance {%d, %d}: %d cells%n",
+                    entrances[i][0], entrances[i][1], perEntrance[i]);
+        }
+        System.out.println();
+    }
+
+    // ─────────────────────────────────────────────
+    //  REACHABILITY INDEX
+    // ─────────────────────────────────────────────
+
+    /** Queries checked against BFSSolver by --reachable. */
+    private static final int BFS_SAMPLE = 100;
+
+    /**
+     * Answers {@code queries} random "is B reachable from A?" questions
+     * with a {@link ConnectivityIndex}, and the first {@link #BFS_SAMPLE} of
+     * them with one BFSSolver run each, then opens random walls, updating
+     * the index incrementally, and checks it against BFS again.
+     */
+    private static void runReachable(int[][] maze, int queries, Random rng, int threads) {
+        int size = maze.length, cols = maze[0].length;
+        List<int[]> open = new ArrayList<>();
+        for (int r = 1; r < size - 1; r++) {
+            for (int c = 1; c < cols - 1; c++) {
+                if (maze[r][c] == 1) open.add(new int[]{r, c});
+            }
+        }
+        int[][] pairs = new int[queries * 2][];
+        for (int i = 0; i < pairs.length; i++) pairs[i] = open.get(rng.nextInt(open.size()));
+
+        // Untimed first build and query pass: warms the code, as in runBatch
+        ConnectivityIndex index = ConnectivityIndex.build(maze, threads);
+        countReachable(index, pairs, queries);
+
+        long t0 = System.nanoTime();
+        index = ConnectivityIndex.build(maze, threads);
+        long buildNanos = System.nanoTime() - t0;
+
+        t0 = System.nanoTime();
+        int reachable = countReachable(index, pairs, queries);
+        long queryNanos = System.nanoTime() - t0;
+
+        // A full BFS per query: timed on a sample, or thousands of queries take minutes
+        int sampled = Math.min(queries, BFS_SAMPLE);
+        t0 = System.nanoTime();
+        int mismatches = countMismatches(index, maze, pairs, sampled);
+        long bfsNanos = System.nanoTime() - t0;
+
+        System.out.printf("  Index build (%d threads): %.1f ms  |  Components: %d%n",
+                threads, buildNanos / 1e6, index.getComponentCount());
+        System.out.printf("  %d queries, index:      %.3f ms (%.0f ns/query)  |  Reachable: %d%n",
+                queries, queryNanos / 1e6, (double) queryNanos / queries, reachable);
+        System.out.printf("  %d queries, BFSSolver:  %.1f ms (%.0f ns/query)  |  Disagreements: %d%n",
+                sampled, bfsNanos / 1e6, (double) bfsNanos / sampled, mismatches);
+
+        // ── Remove walls and keep the index up to date ──
+        List<int[]> walls = new ArrayList<>();
+        for (int r = 1; r < size - 1; r++) {
+            for (int c = 1; c < cols - 1; c++) {
+                if (maze[r][c] == 0) walls.add(new int[]{r, c});
+            }
+        }
+        Collections.shuffle(walls, rng);
+        int edits = Math.min(walls.size(), Math.max(1, size));
+        t0 = System.nanoTime();
+        for (int i = 0; i < edits; i++) {
+            int[] w = walls.get(i);
+            maze[w[0]][w[1]] = 1;
+            index.openCell(w[0], w[1]);
+        }
+        long editNanos = System.nanoTime() - t0;
+        int checked = Math.min(queries, BFS_SAMPLE);
+        mismatches = countMismatches(index, maze, pairs, checked);
+        System.out.printf("  Opened %d walls: %.3f ms (%.0f ns/wall)  |  Components: %d" +
+                        "  |  Disagreements (%d queries): %d%n",
+                edits, editNanos / 1e6, (double) editNanos / edits, index.getComponentCount(),
+                checked, mismatches);
+        System.out.println();
+    }
+
+    private static int countReachable(ConnectivityIndex index, int[][] pairs, int queries) {
+        int reachable = 0;
+        for (int i = 0; i < queries; i++) {
+            if (index.isReachable(pairs[2 * i], pairs[2 * i + 1])) reachable++;
+        }
+        return reachable;
+    }
+
+    /** Queries where the index and a BFSSolver run give different answers. */
+    private static int countMismatches(ConnectivityIndex index, int[][] maze,
+                                       int[][] pairs, int queries) {
+        int mismatches = 0;
+        MazeSolver bfs = new BFSSolver();
+        for (int i = 0; i < queries; i++) {
+            int[] a = pairs[2 * i], b = pairs[2 * i + 1];
+            bfs.init(maze, a.clone(), b.clone());
+            while (!bfs.step()) { }
+            if (bfs.getPath().isEmpty() == index.isReachable(a, b)) mismatches++;
+            bfs.reset();
+        }
+        return mismatches;
     }
 
     // ─────────────────────────────────────────────
     //  SOLVER INSTANTIATION (by class name)
     // ─────────────────────────────────────────────
 
+    /**
+     * Bundled solvers come from {@link SolverRegistry} (no reflection, so
+     * this also works in a native image); anything else, like a student's
+     * own solver class, is loaded with Class.forName.
+     */
     private static MazeSolver createSolver(String className) {
+        MazeSolver bundled = SolverRegistry.create(className);
+        if (bundled != null) return withBudget(bundled);
         try {
             Class<?> clazz = Class.forName(className);
             if (!MazeSolver.class.isAssignableFrom(clazz)) {
                 System.err.println("Error: " + className + " does not implement MazeSolver.");
                 System.exit(1);
             }
-            return (MazeSolver) clazz.getDeclaredConstructor().newInstance();
+            return withBudget((MazeSolver) clazz.getDeclaredConstructor().newInstance());
         } catch (ClassNotFoundException e) {
             System.err.println("Error: Could not find class '" + className + "'.");
             System.err.println("Make sure " + className + ".java is compiled (javac *.java)");
@@ -486,6 +1481,42 @@ public class MazeManager {
         return null; // unreachable
     }
 
+    /** Passes --max-memory on to solvers that take a budget. */
+    private static MazeSolver withBudget(MazeSolver solver) {
+        if (maxMemory > 0 && solver instanceof MemoryBoundedSolver) {
+            ((MemoryBoundedSolver) solver).setMaxMemory(maxMemory);
+        }
+        return solver;
+    }
+
+    /** Parses a cell given as "ROW,COL". */
+    private static int[] parseCell(String s) {
+        String[] rc = s.split(",");
+        return new int[]{Integer.parseInt(rc[0].trim()), Integer.parseInt(rc[1].trim())};
+    }
+
+    /** Exits with an error unless {@code cell} is an open cell of the imported grid. */
+    private static void checkImportedCell(PackedGrid grid, int[] cell, String what) {
+        if (cell == null) {
+            System.err.println("Error: the imported maze has no open cells.");
+            System.exit(1);
+        }
+        if (cell[0] < 0 || cell[0] >= grid.rows || cell[1] < 0 || cell[1] >= grid.cols
+                || !grid.isOpen(cell[0], cell[1])) {
+            System.err.println("Error: " + what + " {" + cell[0] + ", " + cell[1] +
+                    "} is not an open cell of the imported maze.");
+            System.exit(1);
+        }
+    }
+
+    /** Parses a byte count with an optional k, m or g suffix (e.g. 512m). */
+    private static long parseBytes(String s) {
+        char unit = Character.toLowerCase(s.charAt(s.length() - 1));
+        int shift = unit == 'k' ? 10 : unit == 'm' ? 20 : unit == 'g' ? 30 : 0;
+        String digits = shift > 0 ? s.substring(0, s.length() - 1) : s;
+        return Long.parseLong(digits) << shift;
+    }
+
     // ─────────────────────────────────────────────
     //  MAIN
     // ─────────────────────────────────────────────
@@ -499,6 +1530,40 @@ public class MazeManager {
         String compareName1 = null;
         String compareName2 = null;
         boolean printMaze = false;
+        boolean headless = false;
+        Path checkpointFile = null;
+        Path resumeFile = null;
+        long checkpointEvery = 0;
+        long checkpointSecs = 0;
+        int multiEntrances = 0;
+        int multiExits = 0;
+        List<String> benchNames = null;
+        int benchRuns = 5;
+        int[] benchThreads = null;
+        MazeGenerator generator = new BacktrackerGenerator();
+        Path streamFile = null;
+        int streamHeight = 0;
+        Path recordFile = null;
+        Path heatmapFile = null;
+        Path replayFile = null;
+        long replaySeek = 0;
+        int replaySpeed = 1;
+        int[] layoutSizes = null;
+        GridLayout.Kind[] layoutKinds = GridLayout.Kind.values();
+        int batchCount = 0;
+        boolean batchPooled = true;
+        Path corpusDir = null;
+        int corpusCount = 1000;
+        int[] corpusSizes = {21, 51, 101};
+        int reachQueries = 0;
+        long superviseSteps = 0;
+        long superviseMillis = 0;
+        long heapBudget = 0;
+        Path importFile = null;
+        Path cacheDir = null;
+        long cacheBudget = DEFAULT_CACHE_BUDGET;
+        int[] importStart = null;
+        int[] importEnd = null;
 
         // Parse args
         for (int i = 0; i < args.length; i++) {
@@ -506,11 +1571,13 @@ public class MazeManager {
                 case "--size":
                     size = Integer.parseInt(args[++i]);
                     if (size % 2 == 0) size++;
-                    size = Math.max(11, Math.min(51, size));
                     break;
                 case "--delay":
                     delay = Integer.parseInt(args[++i]);
-                    delay = Math.max(10, Math.min(2000, delay));
+                    delay = Math.max(0, Math.min(2000, delay));
+                    break;
+                case "--fps":
+                    fps = Math.max(1, Math.min(120, Integer.parseInt(args[++i])));
                     break;
                 case "--seed":
                     seed = Long.parseLong(args[++i]);
@@ -528,6 +1595,125 @@ public class MazeManager {
                 case "--print-maze":
                     printMaze = true;
                     break;
+                case "--headless":
+                    headless = true;
+                    break;
+                case "--checkpoint":
+                    checkpointFile = Paths.get(args[++i]);
+                    headless = true;
+                    break;
+                case "--checkpoint-every":
+                    checkpointEvery = Long.parseLong(args[++i]);
+                    break;
+                case "--checkpoint-secs":
+                    checkpointSecs = Long.parseLong(args[++i]);
+                    break;
+                case "--resume":
+                    resumeFile = Paths.get(args[++i]);
+                    headless = true;
+                    break;
+                case "--bench":
+                    benchNames = Arrays.asList(args[++i].split(","));
+                    headless = true;
+                    break;
+                case "--generator":
+                    generator = createGenerator(args[++i]);
+                    break;
+                case "--stream-maze":
+                    streamFile = Paths.get(args[++i]);
+                    headless = true;
+                    break;
+                case "--height":
+                    streamHeight = Integer.parseInt(args[++i]) | 1;
+                    break;
+                case "--threads":
+                    benchThreads = Arrays.stream(args[++i].split(","))
+                            .mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--runs":
+                    benchRuns = Math.max(1, Integer.parseInt(args[++i]));
+                    break;
+                case "--record":
+                    recordFile = Paths.get(args[++i]);
+                    break;
+                case "--heatmap":
+                    heatmapFile = Paths.get(args[++i]);
+                    break;
+                case "--replay":
+                    replayFile = Paths.get(args[++i]);
+                    break;
+                case "--seek":
+                    replaySeek = Math.max(0, Long.parseLong(args[++i]));
+                    break;
+                case "--speed":
+                    replaySpeed = Math.max(1, Integer.parseInt(args[++i]));
+                    break;
+                case "--layout-bench":
+                    layoutSizes = Arrays.stream(args[++i].split(","))
+                            .mapToInt(n -> Integer.parseInt(n) | 1).toArray();
+                    break;
+                case "--layouts":
+                    layoutKinds = Arrays.stream(args[++i].split(","))
+                            .map(GridLayout::kindOf).toArray(GridLayout.Kind[]::new);
+                    break;
+                case "--batch":
+                    batchCount = Math.max(1, Integer.parseInt(args[++i]));
+                    headless = true;
+                    break;
+                case "--no-pool":
+                    batchPooled = false;
+                    break;
+                case "--corpus":
+                    corpusDir = Paths.get(args[++i]);
+                    break;
+                case "--count":
+                    corpusCount = Math.max(1, Integer.parseInt(args[++i]));
+                    break;
+                case "--sizes":
+                    corpusSizes = Arrays.stream(args[++i].split(","))
+                            .mapToInt(Integer::parseInt)
+                            .map(n -> Math.max(11, Math.min(MAX_HEADLESS_SIZE, n)))
+                            .toArray();
+                    break;
+                case "--reachable":
+                    reachQueries = Math.max(1, Integer.parseInt(args[++i]));
+                    headless = true;
+                    break;
+                case "--max-steps":
+                    superviseSteps = Math.max(1, Long.parseLong(args[++i]));
+                    break;
+                case "--timeout":
+                    superviseMillis = Math.max(1, (long) (Double.parseDouble(args[++i]) * 1000));
+                    break;
+                case "--heap-budget":
+                    heapBudget = parseBytes(args[++i]);
+                    break;
+                case "--cache":
+                    cacheDir = Paths.get(args[++i]);
+                    break;
+                case "--cache-budget":
+                    cacheBudget = parseBytes(args[++i]);
+                    break;
+                case "--import":
+                    importFile = Paths.get(args[++i]);
+                    break;
+                case "--start":
+                    importStart = parseCell(args[++i]);
+                    break;
+                case "--end":
+                    importEnd = parseCell(args[++i]);
+                    break;
+                case "--max-memory":
+                    maxMemory = parseBytes(args[++i]);
+                    break;
+                case "--time-startup":
+                    timeStartup = true;
+                    break;
+                case "--multi":
+                    multiEntrances = Math.max(1, Integer.parseInt(args[++i]));
+                    multiExits = Math.max(1, Integer.parseInt(args[++i]));
+                    headless = true;
+                    break;
                 case "--help":
                     printUsage();
                     return;
@@ -538,27 +1724,167 @@ public class MazeManager {
             }
         }
 
-        if (solverName == null && compareName1 == null && !printMaze) {
+        size = Math.max(11, Math.min(headless ? MAX_HEADLESS_SIZE : 51, size));
+        supervisor = new SolverSupervisor(superviseSteps, superviseMillis, heapBudget);
+        if (cacheDir != null) cache = new MazeCache(cacheDir, cacheBudget);
+
+        if (checkpointFile == null) checkpointFile = resumeFile;
+        if (checkpointFile != null && checkpointEvery <= 0 && checkpointSecs <= 0) {
+            checkpointSecs = DEFAULT_CHECKPOINT_SECS;
+        }
+
+        // ── Replay a recorded solve: maze and steps come from the log ──
+        if (replayFile != null) {
+            runReplay(new ReplayLog.Reader(replayFile), replaySeek, replaySpeed, delay);
+            return;
+        }
+
+        // ── Resume a checkpointed solve: maze, solver and state come from the file ──
+        if (resumeFile != null) {
+            SolverCheckpoint cp = SolverCheckpoint.read(resumeFile);
+            MazeSolver solver = createSolver(cp.solverClass);
+            if (!(solver instanceof Checkpointable)) {
+                System.err.println("Error: " + cp.solverClass + " cannot be resumed.");
+                System.exit(1);
+            }
+            System.out.println(col(BOLD) + "Maze size: " + cp.rows + "x" + cp.cols +
+                    "  |  Seed: " + cp.seed + col(RESET));
+            runHeadless(solver, cp.unpackMaze(), cp.start, cp.end, cp.seed,
+                    checkpointFile, checkpointEvery, checkpointSecs, cp, null, null);
+            return;
+        }
+
+        if (layoutSizes != null) {
+            System.out.println(col(BOLD) + "Layout BFS  |  Seed: " + seed +
+                    "  |  Runs: " + benchRuns + col(RESET));
+            runLayoutBenchmark(layoutSizes, layoutKinds, benchRuns, seed);
+            return;
+        }
+
+        if (corpusDir != null) {
+            long t0 = System.nanoTime();
+            List<MazeCorpus.Entry> entries = MazeCorpus.generate(corpusDir, corpusCount,
+                    corpusSizes, seed, generator.getName(), DEFAULT_REMOVAL_RATIO,
+                    Runtime.getRuntime().availableProcessors());
+            long unreachable = entries.stream().filter(e -> e.shortest < 0).count();
+            System.out.println("Wrote " + entries.size() + " mazes to " + corpusDir + " in " +
+                    (System.nanoTime() - t0) / 1_000_000 + " ms  |  Seed: " + seed +
+                    (unreachable > 0 ? "  |  " + unreachable + " without a path" : ""));
+            return;
+        }
+
+        if (streamFile != null) {
+            int height = streamHeight > 0 ? streamHeight : size;
+            long t0 = System.nanoTime();
+            new EllerGenerator().streamTo(streamFile, size, height, new Random(seed),
+                    DEFAULT_REMOVAL_RATIO);
+            System.out.println("Wrote " + size + "x" + height + " maze to " + streamFile +
+                    " in " + (System.nanoTime() - t0) / 1_000_000 + " ms  |  Seed: " + seed);
+            return;
+        }
+
+        if (solverName == null && compareName1 == null && !printMaze && multiExits == 0
+                && benchNames == null && reachQueries == 0) {
             printUsage();
             return;
         }
 
-        // Generate maze
-        Random rng = new Random(seed);
-        int[][] maze = generateMaze(size, rng);
         int[] start = {1, 1};
         int[] end   = {size - 2, size - 2};
+        String mazeInfo = size + "x" + size + "  |  Seed: " + seed;
+
+        // ── Import a maze from a text / PBM / PGM file instead of generating one ──
+        PackedGrid importedGrid = null;
+        if (importFile != null) {
+            if (batchCount > 0) {
+                System.err.println("Error: --batch generates its own mazes; it cannot use --import.");
+                System.exit(1);
+            }
+            long t0 = System.nanoTime();
+            MazeImporter.Result in = MazeImporter.read(importFile);
+            importedGrid = in.grid;
+            start = importStart != null ? importStart : in.start;
+            end = importEnd != null ? importEnd : in.end;
+            checkImportedCell(importedGrid, start, "start");
+            checkImportedCell(importedGrid, end, "end");
+            int rows = importedGrid.rows, cols = importedGrid.cols;
+            mazeInfo = rows + "x" + cols + "  |  File: " + importFile.getFileName();
+            System.out.println("Imported " + rows + "x" + cols + " maze (" + in.format + ") in " +
+                    (System.nanoTime() - t0) / 1_000_000 + " ms  |  Start: {" + start[0] + ", " +
+                    start[1] + "}  End: {" + end[0] + ", " + end[1] + "}");
+
+            // Only small square mazes can be animated
+            size = rows;
+            if (rows != cols || rows > 51) headless = true;
+            if (multiExits > 0 && rows != cols) {
+                System.err.println("Error: --multi needs a square maze.");
+                System.exit(1);
+            }
+        }
+
+        // ── Memory-bounded solver with a budget: the maze stays packed ──
+        if (headless && maxMemory > 0 && solverName != null && !printMaze
+                && benchNames == null && batchCount == 0 && reachQueries == 0
+                && multiExits == 0 && checkpointFile == null && recordFile == null
+                && heatmapFile == null) {
+            MazeSolver solver = createSolver(solverName);
+            if (solver instanceof MemoryBoundedSolver) {
+                int rows = importedGrid != null ? importedGrid.rows : size;
+                int cols = importedGrid != null ? importedGrid.cols : size;
+                if ((long) rows * cols > MemoryBoundedSolver.MAX_CELLS) {
+                    System.err.println("Error: " + rows + "x" + cols + " has more than " +
+                            MemoryBoundedSolver.MAX_CELLS + " cells, the most any solver supports.");
+                    System.exit(1);
+                }
+                System.out.println(col(BOLD) + "Maze size: " + mazeInfo +
+                        "  |  Budget: " + maxMemory / (1 << 20) + " MB" +
+                        col(RESET));
+                PackedGrid grid = importedGrid;
+                if (grid == null) {
+                    long t0 = System.nanoTime();
+                    long hits = cache != null ? cache.getHits() : 0;
+                    grid = streamGrid(size, seed);
+                    String how = cache != null && cache.getHits() > hits ? "Loaded" : "Generated";
+                    System.out.println(how + " " + size + "x" + size + " maze (eller, packed) in " +
+                            (System.nanoTime() - t0) / 1_000_000 + " ms");
+                }
+                runBounded((MemoryBoundedSolver) solver, grid, start, end);
+                return;
+            }
+        }
+
+        // Generate maze (or unpack the imported one)
+        Random rng = new Random(seed);
+        int[][] maze;
+        if (importedGrid != null) {
+            if ((long) importedGrid.rows * importedGrid.cols > Integer.MAX_VALUE) {
+                // Also over MemoryBoundedSolver.MAX_CELLS, so no solver can take it packed either
+                System.err.println("Error: " + importedGrid.rows + "x" + importedGrid.cols +
+                        " has more than " + Integer.MAX_VALUE + " cells, the most any solver supports.");
+                System.exit(1);
+            }
+            maze = importedGrid.toMaze();
+        } else if (cache != null && multiExits == 0 && reachQueries == 0 && batchCount == 0) {
+            // (--multi and --reachable draw from rng after generation, so they always
+            // generate; --batch never uses the cache)
+            long t0 = System.nanoTime();
+            long hits = cache.getHits();
+            maze = cachedMaze(size, seed, generator, DEFAULT_REMOVAL_RATIO);
+            System.out.println((cache.getHits() > hits ? "Loaded maze from cache" : "Generated and cached maze") +
+                    " in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        } else {
+            maze = generateMaze(size, rng, generator, DEFAULT_REMOVAL_RATIO);
+        }
 
         // ── Print maze as 0/1 matrix ──
         if (printMaze) {
-            System.out.println(col(BOLD) + "Maze " + size + "x" + size +
-                    "  |  Seed: " + seed + col(RESET));
+            System.out.println(col(BOLD) + "Maze " + mazeInfo + col(RESET));
             System.out.println("Start: {" + start[0] + ", " + start[1] + "}  " +
                     "End: {" + end[0] + ", " + end[1] + "}");
             System.out.println();
-            for (int r = 0; r < size; r++) {
+            for (int r = 0; r < maze.length; r++) {
                 StringBuilder row = new StringBuilder();
-                for (int c = 0; c < size; c++) {
+                for (int c = 0; c < maze[r].length; c++) {
                     if (c > 0) row.append(" ");
                     row.append(maze[r][c]);
                 }
@@ -567,13 +1893,60 @@ public class MazeManager {
             System.out.println();
 
             // If only --print-maze was requested (no solver), stop here
-            if (solverName == null && compareName1 == null) {
+            if (solverName == null && compareName1 == null && multiExits == 0
+                    && benchNames == null && reachQueries == 0) {
                 return;
             }
         }
 
-        System.out.println(col(BOLD) + "Maze size: " + size + "x" + size +
-                "  |  Seed: " + seed +
+        if (batchCount > 0) {
+            if (solverName == null) {
+                System.err.println("Error: --batch runs a single --solver.");
+                System.exit(1);
+            }
+            System.out.println(col(BOLD) + "Maze size: " + size + "x" + size +
+                    "  |  Seeds: " + seed + ".." + (seed + batchCount - 1) + col(RESET));
+            int threads = benchThreads != null ? Math.max(1, benchThreads[0])
+                    : Runtime.getRuntime().availableProcessors();
+            runBatch(solverName, batchCount, size, seed, threads, batchPooled);
+            return;
+        }
+
+        if (benchNames != null) {
+            System.out.println(col(BOLD) + "Maze size: " + mazeInfo +
+                    "  |  Runs: " + benchRuns + col(RESET));
+            runBenchmark(benchNames, maze, start, end, benchRuns, benchThreads);
+            return;
+        }
+
+        if (reachQueries > 0) {
+            System.out.println(col(BOLD) + "Maze size: " + mazeInfo + col(RESET));
+            int threads = benchThreads != null ? Math.max(1, benchThreads[0])
+                    : Runtime.getRuntime().availableProcessors();
+            runReachable(maze, reachQueries, rng, threads);
+            return;
+        }
+
+        if (multiExits > 0) {
+            System.out.println(col(BOLD) + "Maze size: " + mazeInfo + col(RESET));
+            runMulti(maze,
+                    pickEdgeCells(maze, 1, start, multiEntrances, rng),
+                    pickEdgeCells(maze, size - 2, end, multiExits, rng));
+            return;
+        }
+
+        if (headless) {
+            if (solverName == null) {
+                System.err.println("Error: --headless runs a single --solver.");
+                System.exit(1);
+            }
+            System.out.println(col(BOLD) + "Maze size: " + mazeInfo + col(RESET));
+            runHeadless(createSolver(solverName), maze, start, end, seed,
+                    checkpointFile, checkpointEvery, checkpointSecs, null, recordFile, heatmapFile);
+            return;
+        }
+
+        System.out.println(col(BOLD) + "Maze size: " + mazeInfo +
                 "  |  Delay: " + delay + "ms" + col(RESET));
         Thread.sleep(1000);
 
@@ -581,11 +1954,11 @@ public class MazeManager {
             // Compare mode
             MazeSolver s1 = createSolver(compareName1);
             MazeSolver s2 = createSolver(compareName2);
-            runSolvers(s1, s2, maze, start, end, delay);
+            runSolvers(s1, s2, maze, start, end, delay, recordFile, heatmapFile);
         } else {
             // Single solver mode
             MazeSolver s1 = createSolver(solverName);
-            runSolvers(s1, null, maze, start, end, delay);
+            runSolvers(s1, null, maze, start, end, delay, recordFile, heatmapFile);
         }
     }
 
@@ -600,15 +1973,40 @@ public class MazeManager {
         System.out.println("║                                                 ║");
         System.out.println("║ Options:                                        ║");
         System.out.println("║   --size  N      Maze size (odd, 11-51)         ║");
-        System.out.println("║   --delay N      Ms between steps (10-2000)     ║");
+        System.out.println("║   --delay N      Min ms per step (0-2000)       ║");
+        System.out.println("║   --fps   N      Redraws per second (1-120)     ║");
         System.out.println("║   --seed  N      Random seed for maze           ║");
+        System.out.println("║   --generator G  backtracker, eller, wilson,    ║");
+        System.out.println("║                  kruskal (default backtracker)  ║");
         System.out.println("║   --print-maze   Print maze as 0/1 matrix      ║");
         System.out.println("║   --nocolor      Disable ANSI colors            ║");
+        System.out.println("║   --headless     Solve without animation        ║");
+        System.out.println("║   --checkpoint F Save solver state to F         ║");
+        System.out.println("║   --checkpoint-every N / --checkpoint-secs N    ║");
+        System.out.println("║   --resume F     Continue from checkpoint F     ║");
+        System.out.println("║   --multi M K    M entrances, K exits benchmark ║");
+        System.out.println("║   --bench A,B    Time solvers (--runs N)        ║");
+        System.out.println("║   --threads 1,2,4  Thread counts for --bench    ║");
+        System.out.println("║   --batch N      Solve N mazes (--no-pool)      ║");
+        System.out.println("║   --reachable N  N path queries, index vs BFS   ║");
+        System.out.println("║   --max-memory B Budget for IDA*/beam (e.g. 64m)║");
+        System.out.println("║   --timeout S / --max-steps N / --heap-budget B ║");
+        System.out.println("║   --layout-bench 1001,4001  BFS per layout      ║");
+        System.out.println("║   --stream-maze F  Eller maze to file (--height)║");
+        System.out.println("║   --corpus D     Test corpus (--count, --sizes) ║");
+        System.out.println("║   --import F     Maze from text/PBM/PGM file F  ║");
+        System.out.println("║   --start R,C / --end R,C  Cells in import      ║");
+        System.out.println("║   --record F     Record the solve to F          ║");
+        System.out.println("║   --replay F     Replay F (--seek N, --speed N) ║");
+        System.out.println("║   --heatmap F    Exploration heatmap (.png/.pgm)║");
+        System.out.println("║   --cache D      Reuse generated mazes from D   ║");
+        System.out.println("║   --cache-budget B  Disk budget (default 1g)    ║");
         System.out.println("║                                                 ║");
         System.out.println("║ Examples:                                       ║");
         System.out.println("║   java MazeManager --solver BFSSolver           ║");
-        System.out.println("║   java MazeManager --compare BFSSolver DFSSolver║");
-        System.out.println("║   java MazeManager --solver DFSSolver --size 31 ║");
+        System.out.println("║   java MazeManager --compare BFSSolver \\        ║");
+        System.out.println("║        FastDFSSolver --size 31                  ║");
+        System.out.println("║   java MazeManager --solver FastDFSSolver       ║");
         System.out.println("║   java MazeManager --print-maze --size 11       ║");
         System.out.println("╚══════════════════════════════════════════════════╝");
     }
@@ -83,4 +83,41 @@ public interface MazeSolver {
      * @return human-readable solver name
      */
     String getName();
+
+    /**
+     * Whether getPath() is always a SHORTEST path when one exists.
+     * BFS finds shortest paths; DFS finds A path, not necessarily the best.
+     * The corpus tests hold solvers that answer true to this.
+     *
+     * @return true if the path returned is guaranteed to be optimal
+     */
+    default boolean guaranteesShortestPath() {
+        return false;
+    }
+
+    /**
+     * How many cells are waiting in your Queue/Stack after the last
+     * step(). MazeManager plots this over time (--heatmap) to compare
+     * how solvers explore. Solvers that do not track it keep this
+     * default, which returns -1.
+     *
+     * @return frontier size, or -1 if unknown
+     */
+    default int getFrontierSize() {
+        return -1;
+    }
+
+    /**
+     * Gets this instance ready to init() another maze, keeping the buffers
+     * it has grown so the next solve does not allocate them again. Lists
+     * returned by getPath() before the reset stay valid.
+     *
+     * Solvers that cannot be reused keep this default, which returns
+     * false; callers then make a new instance instead (see SolverPool).
+     *
+     * @return true if this instance may be init()-ed again
+     */
+    default boolean reset() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                  MemoryBoundedSolver                        ║
+ * ║     Optional extension: search state under a byte budget    ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * BFS keeps a visited bit and a parent for every cell, which on a
+ * 32k × 32k grid is hundreds of MB even packed. A solver implementing
+ * this interface keeps its own search state within a budget chosen by
+ * the caller (--max-memory), giving up speed or optimality instead.
+ *
+ * The maze itself is not counted: solvers read it packed (see
+ * {@link PackedGrid}), one bit per cell, and so can be started on grids
+ * that do not fit in int[][] with {@link #init(PackedGrid, int[], int[])}.
+ * Cells are still numbered with int linear indices (row * cols + col),
+ * so a grid may have at most {@link #MAX_CELLS} cells.
+ */
+public interface MemoryBoundedSolver extends MazeSolver {
+
+    /** Most cells a grid may have: every linear cell index must fit in an int. */
+    long MAX_CELLS = Integer.MAX_VALUE;
+
+    /** Budget in bytes for the next solve; called before init(). */
+    void setMaxMemory(long bytes);
+
+    /**
+     * Same as {@link MazeSolver#init}, for grids too big for int[][] but
+     * of at most {@link #MAX_CELLS} cells; bigger ones are rejected with
+     * an IllegalArgumentException.
+     */
+    void init(PackedGrid grid, int[] start, int[] end);
+
+    /** Most bytes of search state held at once during the last solve. */
+    long getPeakMemory();
+
+    /**
+     * After step() returned true: whether the result is exact, i.e. the
+     * path is a shortest path, or "no path" really means there is none.
+     * False when the budget made the solver prune states it could not
+     * keep, so a shorter (or any) path may have been missed.
+     */
+    boolean isOptimal();
+}
@@ -0,0 +1,193 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                  MultiSourceBFSSolver                       ║
+ * ║    One BFS from M entrances to the nearest of K exits       ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * All start cells are put in the queue before the first step, so the
+ * search grows from every entrance at once. The first target dequeued
+ * is the closest (entrance, exit) pair overall — the same answer as
+ * running M×K single BFS solves and keeping the shortest, in one pass.
+ *
+ * With {@link #setLabelAll(boolean)} the search does not stop at the
+ * first target; it keeps going until every reachable cell is labelled
+ * with the index of its nearest entrance (a Voronoi partition of the
+ * maze), available from {@link #getLabels()}.
+ *
+ * Cells are linear indices (row * cols + col) and all state lives in
+ * primitive arrays:
+ *   queue    — FIFO of cells; each cell is enqueued at most once
+ *   parent   — cell we came from, or -1 for a start
+ *   label    — index of the nearest start, or -1 if not reached yet
+ *   targetOf — index of the exit at a cell, or -1: an O(1) check per
+ *              dequeued cell, so the pass stays O(cells) for any K
+ */
+public class MultiSourceBFSSolver implements MultiTargetSolver {
+
+    private int[][] maze;
+    private int rows, cols;
+
+    private int[] queue = new int[0];
+    private int head, tail;
+    private int[] parent = new int[0];
+    private int[] label = new int[0];
+    private int[] targetOf = new int[0];
+
+    private boolean labelAll;
+    private int reachedSource = -1;
+    private int reachedTarget = -1;
+
+    private final List<int[]> visitedThisStep = new ArrayList<>(1);
+    private List<int[]> path = Collections.emptyList();
+
+    /**
+     * When true, keep searching after the first target is reached so that
+     * every reachable cell gets a nearest-source label.
+     */
+    public void setLabelAll(boolean labelAll) {
+        this.labelAll = labelAll;
+    }
+
+    @Override
+    public void init(int[][] maze, int[] start, int[] end) {
+        init(maze, new int[][]{start}, new int[][]{end});
+    }
+
+    @Override
+    public void init(int[][] maze, int[][] starts, int[][] targets) {
+        this.maze = maze;
+        this.rows = maze.length;
+        this.cols = maze[0].length;
+        int cells = rows * cols;
+
+        if (queue.length < cells) {
+            queue = new int[cells];
+            parent = new int[cells];
+            label = new int[cells];
+            targetOf = new int[cells];
+        }
+        Arrays.fill(label, 0, cells, -1);
+        Arrays.fill(targetOf, 0, cells, -1);
+        head = tail = 0;
+        reachedSource = reachedTarget = -1;
+        visitedThisStep.clear();
+        path = Collections.emptyList();
+
+        for (int i = targets.length - 1; i >= 0; i--) {
+            targetOf[targets[i][0] * cols + targets[i][1]] = i; // the first of duplicates wins
+        }
+
+        for (int i = 0; i < starts.length; i++) {
+            int s = starts[i][0] * cols + starts[i][1];
+            if (label[s] < 0) {
+                label[s] = i;
+                parent[s] = -1;
+                queue[tail++] = s;
+            }
+        }
+    }
+
+    @Override
+    public boolean step() {
+        visitedThisStep.clear();
+        if (head == tail) {
+            return true;
+        }
+
+        int cur = queue[head++];
+        int r = cur / cols, c = cur - r * cols;
+        visitedThisStep.add(new int[]{r, c});
+
+        if (reachedTarget < 0) {
+            int t = targetOf[cur];
+            if (t >= 0) {
+                reachedTarget = t;
+                reachedSource = label[cur];
+                path = reconstructPath(cur);
+                if (!labelAll) return true;
+            }
+        }
+
+        int src = label[cur];
+        if (r > 0)        visit(cur - cols, cur, src, maze[r - 1][c]);
+        if (r < rows - 1) visit(cur + cols, cur, src, maze[r + 1][c]);
+        if (c > 0)        visit(cur - 1,    cur, src, maze[r][c - 1]);
+        if (c < cols - 1) visit(cur + 1,    cur, src, maze[r][c + 1]);
+
+        return false;
+    }
+
+    private void visit(int next, int from, int src, int open) {
+        if (open == 1 && label[next] < 0) {
+            label[next] = src;
+            parent[next] = from;
+            queue[tail++] = next;
+        }
+    }
+
+    private List<int[]> reconstructPath(int cell) {
+        List<int[]> result = new ArrayList<>();
+        for (int cur = cell; cur >= 0; cur = parent[cur]) {
+            result.add(new int[]{cur / cols, cur % cols});
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    public List<int[]> getVisitedThisStep() {
+        return visitedThisStep;
+    }
+
+    @Override
+    public List<int[]> getPath() {
+        return path;
+    }
+
+    @Override
+    public int getReachedSource() {
+        return reachedSource;
+    }
+
+    @Override
+    public int getReachedTarget() {
+        return reachedTarget;
+    }
+
+    /**
+     * Nearest-start label per linear cell index (-1 for walls and
+     * unreached cells). Complete only when labelling all cells.
+     * The array may be longer than rows * cols when reused.
+     */
+    public int[] getLabels() {
+        return label;
+    }
+
+    @Override
+    public int getFrontierSize() {
+        return tail - head;
+    }
+
+    @Override
+    public boolean reset() {
+        maze = null; // queue, parent and label arrays are kept for the next maze
+        visitedThisStep.clear();
+        path = Collections.emptyList();
+        return true;
+    }
+
+    @Override
+    public boolean guaranteesShortestPath() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Multi-source BFS";
+    }
+}
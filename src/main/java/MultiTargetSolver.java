@@ -0,0 +1,31 @@
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                   MultiTargetSolver                         ║
+ * ║     Optional extension: many entrances, many exits          ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * A solver implementing this interface can be started from several
+ * cells at once and finishes when it reaches ANY of several targets.
+ * The regular {@link MazeSolver#init} is the special case of one start
+ * and one target.
+ *
+ * After step() returns true, getPath() goes from one of the starts to
+ * the target that was reached.
+ */
+public interface MultiTargetSolver extends MazeSolver {
+
+    /**
+     * Called once before solving begins, instead of {@link MazeSolver#init}.
+     *
+     * @param maze     2D grid: 0 = wall, 1 = path. Do NOT modify.
+     * @param starts   {row, col} of every start cell
+     * @param targets  {row, col} of every goal cell
+     */
+    void init(int[][] maze, int[][] starts, int[][] targets);
+
+    /** Index into {@code starts} of the source of the path, or -1 if none. */
+    int getReachedSource();
+
+    /** Index into {@code targets} of the goal that was reached, or -1 if none. */
+    int getReachedTarget();
+}
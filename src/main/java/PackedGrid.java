@@ -0,0 +1,158 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                       PackedGrid                            ║
+ * ║           One bit per maze cell, 64 cells per long          ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Bit-packed version of the 0/1 maze: bit set = open path, clear = wall.
+ *
+ * LAYOUT:
+ *   Each row starts on a fresh long, so row r occupies words
+ *   [r * wordsPerRow, (r + 1) * wordsPerRow). Column c of a row is bit
+ *   (c & 63) of word (c >>> 6). Padding bits past the last column are
+ *   always 0, so whole-word operations never leak outside the maze.
+ *
+ * A 32k × 32k maze takes 128 MB here instead of 4 GB as int[][].
+ *
+ * FILE FORMAT (little-endian, memory-mappable):
+ *   int magic "MZPG", int version, int rows, int cols,
+ *   then rows × wordsPerRow longs in the layout above.
+ */
+public final class PackedGrid {
+
+    public static final int MAGIC = 0x47505A4D; // "MZPG" read little-endian
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+
+    /** Largest region of the file mapped at once. */
+    static final long MAP_WINDOW = 1L << 28;
+
+    public final int rows;
+    public final int cols;
+    public final int wordsPerRow;
+    public final long[] bits;
+
+    public PackedGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.bits = new long[Math.multiplyExact(rows, wordsPerRow)];
+    }
+
+    /** Wraps already packed words, e.g. from {@link MazeImporter}. */
+    PackedGrid(int rows, int cols, long[] bits) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        if (bits.length != Math.multiplyExact(rows, wordsPerRow)) {
+            throw new IllegalArgumentException("Expected " + rows * wordsPerRow + " words");
+        }
+        this.bits = bits;
+    }
+
+    /** Packs a 0/1 maze. */
+    public static PackedGrid fromMaze(int[][] maze) {
+        PackedGrid grid = new PackedGrid(maze.length, maze[0].length);
+        for (int r = 0; r < grid.rows; r++) {
+            int[] row = maze[r];
+            int base = r * grid.wordsPerRow;
+            for (int c = 0; c < grid.cols; c++) {
+                if (row[c] == 1) grid.bits[base + (c >>> 6)] |= 1L << c;
+            }
+        }
+        return grid;
+    }
+
+    /** Unpacks into a fresh 0/1 maze. */
+    public int[][] toMaze() {
+        int[][] maze = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            int base = r * wordsPerRow;
+            for (int c = 0; c < cols; c++) {
+                maze[r][c] = (int) (bits[base + (c >>> 6)] >>> c) & 1;
+            }
+        }
+        return maze;
+    }
+
+    public boolean isOpen(int r, int c) {
+        return (bits[r * wordsPerRow + (c >>> 6)] & (1L << c)) != 0;
+    }
+
+    public void setOpen(int r, int c, boolean open) {
+        int w = r * wordsPerRow + (c >>> 6);
+        if (open) bits[w] |= 1L << c;
+        else      bits[w] &= ~(1L << c);
+    }
+
+    /** Number of open cells. */
+    public long countOpen() {
+        long n = 0;
+        for (long w : bits) n += Long.bitCount(w);
+        return n;
+    }
+
+    // ─────────────────────────────────────────────
+    //  FILE I/O
+    // ─────────────────────────────────────────────
+
+    /** Writes this grid to {@code file} in the packed format. */
+    public void write(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ch.write(header(rows, cols));
+            long pos = HEADER_BYTES;
+            int wordsPerWindow = (int) (MAP_WINDOW / Long.BYTES);
+            for (int from = 0; from < bits.length; from += wordsPerWindow) {
+                int n = Math.min(wordsPerWindow, bits.length - from);
+                MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, pos, (long) n * Long.BYTES);
+                map.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(bits, from, n);
+                map.force();
+                pos += (long) n * Long.BYTES;
+            }
+        }
+    }
+
+    /** Reads a grid written by {@link #write(Path)} through a memory map. */
+    public static PackedGrid read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (head.hasRemaining()) {
+                if (ch.read(head) < 0) throw new IOException("Truncated maze file: " + file);
+            }
+            head.flip();
+            if (head.getInt() != MAGIC) throw new IOException(file + " is not a packed maze");
+            int version = head.getInt();
+            if (version != VERSION) throw new IOException("Unsupported maze version " + version);
+
+            PackedGrid grid = new PackedGrid(head.getInt(), head.getInt());
+            long pos = HEADER_BYTES;
+            int wordsPerWindow = (int) (MAP_WINDOW / Long.BYTES);
+            for (int from = 0; from < grid.bits.length; from += wordsPerWindow) {
+                int n = Math.min(wordsPerWindow, grid.bits.length - from);
+                LongBuffer words = ch.map(FileChannel.MapMode.READ_ONLY, pos, (long) n * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+                words.get(grid.bits, from, n);
+                pos += (long) n * Long.BYTES;
+            }
+            return grid;
+        }
+    }
+
+    /** The 16-byte file header, ready to write. */
+    static ByteBuffer header(int rows, int cols) {
+        ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        head.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).flip();
+        return head;
+    }
+}
@@ -0,0 +1,294 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                    ParallelDFSSolver                        ║
+ * ║      Work-stealing depth-first search on every core         ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Finds A path (not necessarily the shortest) using several threads:
+ *
+ *   - Each worker owns a Chase–Lev deque of linear cell indices. It
+ *     pushes and pops at the bottom (LIFO, so it still digs depth-first)
+ *     while idle workers steal the oldest cells from the top.
+ *   - Cells are claimed in a shared AtomicLongArray bitset with CAS.
+ *     Only the thread that wins the claim writes that cell's entry in
+ *     the plain int[] parent array, so parents need no synchronization;
+ *     the final join publishes them to the caller.
+ *   - A shared counter of claimed-but-unexpanded cells detects the end
+ *     of the search when the goal is unreachable.
+ *
+ * STEPPING:
+ *   Workers run freely, so the whole search happens in the first call
+ *   to step(), which then returns true. getVisitedThisStep() reports
+ *   every cell claimed during that call.
+ */
+public class ParallelDFSSolver implements ParallelSolver {
+
+    private static final int EMPTY = -1;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int[][] maze;
+    private int rows, cols;
+    private int startCell, endCell;
+
+    private AtomicLongArray visited = new AtomicLongArray(0);
+    private int words;             // words of visited in use for this maze
+    private int[] parent = new int[0];
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean found;
+
+    private boolean started;
+    private List<int[]> path = Collections.emptyList();
+
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public void init(int[][] maze, int[] start, int[] end) {
+        this.maze = maze;
+        this.rows = maze.length;
+        this.cols = maze[0].length;
+        int cells = rows * cols;
+        if (parent.length < cells) parent = new int[cells];
+        words = (cells + 63) >>> 6;
+        if (visited.length() < words) visited = new AtomicLongArray(words);
+        else for (int w = 0; w < words; w++) visited.set(w, 0L); // workers are not running
+
+        startCell = start[0] * cols + start[1];
+        endCell = end[0] * cols + end[1];
+        found = false;
+        started = false;
+        path = Collections.emptyList();
+    }
+
+    @Override
+    public boolean step() {
+        if (started) return true;
+        started = true;
+
+        claim(startCell);
+        parent[startCell] = -1;
+        pending.set(1);
+
+        WorkDeque[] deques = new WorkDeque[threads];
+        for (int i = 0; i < threads; i++) deques[i] = new WorkDeque();
+        deques[0].push(startCell);
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            final int id = i;
+            workers[i] = new Thread(() -> work(id, deques), "dfs-worker-" + i);
+            workers[i].start();
+        }
+        try {
+            for (Thread t : workers) t.join();
+        } catch (InterruptedException e) {
+            found = true; // makes the workers stop
+            Thread.currentThread().interrupt();
+        }
+
+        if (isClaimed(endCell)) path = reconstructPath();
+        return true;
+    }
+
+    // ─────────────────────────────────────────────
+    //  WORKER LOOP
+    // ─────────────────────────────────────────────
+
+    private void work(int id, WorkDeque[] deques) {
+        WorkDeque own = deques[id];
+        int idle = 0;
+        while (!found) {
+            int cell = own.pop();
+            if (cell == EMPTY) cell = stealFrom(deques, id);
+            if (cell == EMPTY) {
+                if (pending.get() == 0) return; // nothing left anywhere
+                // Spin briefly, then give the core away (threads may exceed cores)
+                if (++idle < 64) Thread.onSpinWait();
+                else Thread.yield();
+                continue;
+            }
+            idle = 0;
+
+            if (cell == endCell) {
+                found = true;
+                return;
+            }
+
+            int r = cell / cols, c = cell - r * cols;
+            int pushed = 0;
+            if (r > 0        && maze[r - 1][c] == 1) pushed += tryClaim(own, cell - cols, cell);
+            if (r < rows - 1 && maze[r + 1][c] == 1) pushed += tryClaim(own, cell + cols, cell);
+            if (c > 0        && maze[r][c - 1] == 1) pushed += tryClaim(own, cell - 1, cell);
+            if (c < cols - 1 && maze[r][c + 1] == 1) pushed += tryClaim(own, cell + 1, cell);
+
+            // One update per expanded cell: +children, -this cell
+            if (pushed != 1) pending.addAndGet(pushed - 1);
+        }
+    }
+
+    private int tryClaim(WorkDeque own, int next, int from) {
+        if (!claim(next)) return 0;
+        parent[next] = from;
+        own.push(next);
+        return 1;
+    }
+
+    private int stealFrom(WorkDeque[] deques, int self) {
+        int n = deques.length;
+        int offset = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            int victim = (offset + i) % n;
+            if (victim == self) continue;
+            int cell = deques[victim].steal();
+            if (cell != EMPTY) return cell;
+        }
+        return EMPTY;
+    }
+
+    // ─────────────────────────────────────────────
+    //  SHARED VISITED BITSET
+    // ─────────────────────────────────────────────
+
+    /** Atomically sets the cell's bit; true if this call set it. */
+    private boolean claim(int cell) {
+        int w = cell >>> 6;
+        long bit = 1L << cell;
+        while (true) {
+            long cur = visited.get(w);
+            if ((cur & bit) != 0) return false;
+            if (visited.compareAndSet(w, cur, cur | bit)) return true;
+        }
+    }
+
+    private boolean isClaimed(int cell) {
+        return (visited.get(cell >>> 6) & (1L << cell)) != 0;
+    }
+
+    private List<int[]> reconstructPath() {
+        List<int[]> result = new ArrayList<>();
+        for (int cur = endCell; cur >= 0; cur = parent[cur]) {
+            result.add(new int[]{cur / cols, cur % cols});
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    public List<int[]> getVisitedThisStep() {
+        if (!started) return Collections.emptyList();
+        int count = 0;
+        for (int w = 0; w < words; w++) count += Long.bitCount(visited.get(w));
+        int[] cells = new int[count];
+        int n = 0;
+        for (int w = 0; w < words; w++) {
+            for (long bits = visited.get(w); bits != 0; bits &= bits - 1) {
+                cells[n++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return new AbstractList<int[]>() {
+            @Override
+            public int[] get(int i) {
+                return new int[]{cells[i] / cols, cells[i] % cols};
+            }
+
+            @Override
+            public int size() {
+                return cells.length;
+            }
+        };
+    }
+
+    @Override
+    public boolean reset() {
+        maze = null; // the visited bitset and parent array are kept for the next maze
+        started = false;
+        path = Collections.emptyList();
+        return true;
+    }
+
+    @Override
+    public List<int[]> getPath() {
+        return path;
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel DFS (" + threads + " threads)";
+    }
+
+    // ─────────────────────────────────────────────
+    //  CHASE–LEV WORK-STEALING DEQUE
+    // ─────────────────────────────────────────────
+
+    /**
+     * Single-owner deque of ints. The owner pushes/pops at the bottom;
+     * any thread may steal from the top. Only top is CAS'd, and only when
+     * the owner and a thief race for the last element.
+     */
+    static final class WorkDeque {
+        private volatile int[] array = new int[64];
+        private volatile long bottom;
+        private final AtomicLong top = new AtomicLong();
+
+        /** Owner only. */
+        void push(int value) {
+            long b = bottom, t = top.get();
+            int[] a = array;
+            if (b - t >= a.length) {
+                a = grow(a, b, t);
+            }
+            a[(int) b & (a.length - 1)] = value;
+            bottom = b + 1; // volatile write publishes the element
+        }
+
+        /** Owner only. Returns EMPTY when the deque is empty. */
+        int pop() {
+            long b = bottom - 1;
+            int[] a = array;
+            bottom = b;
+            long t = top.get();
+            if (t > b) {
+                bottom = b + 1;
+                return EMPTY;
+            }
+            int value = a[(int) b & (a.length - 1)];
+            if (t == b) {
+                // Last element: race any thief for it
+                if (!top.compareAndSet(t, t + 1)) value = EMPTY;
+                bottom = b + 1;
+            }
+            return value;
+        }
+
+        /** Any thread. Returns EMPTY when empty or when it loses a race. */
+        int steal() {
+            long t = top.get();
+            long b = bottom;
+            if (t >= b) return EMPTY;
+            int[] a = array;
+            int value = a[(int) t & (a.length - 1)];
+            return top.compareAndSet(t, t + 1) ? value : EMPTY;
+        }
+
+        private int[] grow(int[] old, long b, long t) {
+            int[] a = new int[old.length * 2];
+            for (long i = t; i < b; i++) {
+                a[(int) i & (a.length - 1)] = old[(int) i & (old.length - 1)];
+            }
+            array = a;
+            return a;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                     ParallelSolver                          ║
+ * ║       Optional extension for multi-threaded solvers         ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * Lets MazeManager choose how many worker threads a solver uses
+ * (--threads in --bench mode). Called before init().
+ */
+public interface ParallelSolver extends MazeSolver {
+
+    /** Number of worker threads for the next solve (at least 1). */
+    void setThreads(int threads);
+}
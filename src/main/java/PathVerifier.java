@@ -0,0 +1,192 @@
+import java.util.List;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                      PathVerifier                           ║
+ * ║     Is a solver's path real, and is it a shortest one?      ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * One pass over the path checks that it
+ *   - begins at start and ends at end
+ *   - only steps between 4-adjacent cells inside the maze
+ *   - only steps on open cells, and never on the same cell twice
+ * The revisit check marks cells in a bitset (one bit per maze cell) and
+ * clears exactly those bits again afterwards, so a verifier can be
+ * reused for any number of paths at O(path length) each.
+ *
+ * With {@code optimality}, the length is compared with the BFS distance
+ * from start to end. That BFS runs once per verifier, on first use, and
+ * its result is cached, so comparing N solvers (or N runs) on a maze
+ * costs one BFS in total. The same distance also tells whether an empty
+ * path ("no path found") was correct.
+ *
+ * Not thread-safe: use one verifier per thread.
+ */
+public final class PathVerifier {
+
+    /** What {@link #verify} found. */
+    public static final class Report {
+        /** False if the path breaks one of the rules; see {@link #problem}. */
+        public final boolean valid;
+        /** The first broken rule, or "" when valid. */
+        public final String problem;
+        /** Cells in the path (start and end included). */
+        public final int length;
+        /** Shortest path length in cells, -1 if unreachable, 0 if not computed. */
+        public final int shortest;
+
+        Report(boolean valid, String problem, int length, int shortest) {
+            this.valid = valid;
+            this.problem = problem;
+            this.length = length;
+            this.shortest = shortest;
+        }
+
+        /** Valid and as short as possible (only known when checked for optimality). */
+        public boolean isOptimal() {
+            return valid && shortest != 0 && length == Math.max(shortest, 0);
+        }
+
+        @Override
+        public String toString() {
+            if (!valid) return "INVALID: " + problem;
+            if (shortest == 0) return length == 0 ? "no path" : "valid";
+            if (length == 0) return "no path (correct)";
+            if (length == shortest) return "valid, shortest";
+            return "valid, " + (length - shortest) + " cells longer than shortest (" + shortest + ")";
+        }
+    }
+
+    private final int rows;
+    private final int cols;
+    private final int[][] maze;      // exactly one of maze / grid is set
+    private final PackedGrid grid;
+    private final int[] start;
+    private final int[] end;
+    private final long[] seen;
+    private int shortest;            // 0 = not computed yet
+
+    public PathVerifier(int[][] maze, int[] start, int[] end) {
+        this(maze, null, maze.length, maze[0].length, start, end);
+    }
+
+    /** For grids too big to unpack; the distance field still needs rows × cols ints. */
+    public PathVerifier(PackedGrid grid, int[] start, int[] end) {
+        this(null, grid, grid.rows, grid.cols, start, end);
+    }
+
+    private PathVerifier(int[][] maze, PackedGrid grid, int rows, int cols,
+                         int[] start, int[] end) {
+        this.maze = maze;
+        this.grid = grid;
+        this.rows = rows;
+        this.cols = cols;
+        this.start = start.clone();
+        this.end = end.clone();
+        this.seen = new long[(int) (((long) rows * cols + 63) >>> 6)];
+    }
+
+    /**
+     * Checks {@code path} (null counts as empty). With {@code optimality}
+     * the length is also compared with the cached shortest distance.
+     */
+    public Report verify(List<int[]> path, boolean optimality) {
+        int best = optimality ? shortest() : 0;
+        if (path == null || path.isEmpty()) {
+            boolean missed = best > 0;
+            return new Report(!missed, missed ? "no path returned, but end is reachable" : "",
+                    0, best);
+        }
+        String problem = check(path);
+        return new Report(problem == null, problem == null ? "" : problem, path.size(), best);
+    }
+
+    /** The first broken rule, or null. Leaves {@link #seen} all clear. */
+    private String check(List<int[]> path) {
+        int n = path.size();
+        int[] first = path.get(0);
+        if (first[0] != start[0] || first[1] != start[1]) {
+            return "begins at " + str(first) + ", not at start " + str(start);
+        }
+        String problem = null;
+        int marked = 0;
+        int pr = -1, pc = -1;
+        for (; marked < n; marked++) {
+            int[] cell = path.get(marked);
+            int r = cell[0], c = cell[1];
+            if (r < 0 || r >= rows || c < 0 || c >= cols) {
+                problem = "leaves the maze at " + str(cell);
+                break;
+            }
+            if (!isOpen(r, c)) {
+                problem = "crosses a wall at " + str(cell);
+                break;
+            }
+            if (marked > 0 && Math.abs(r - pr) + Math.abs(c - pc) != 1) {
+                problem = "jumps from {" + pr + ", " + pc + "} to " + str(cell);
+                break;
+            }
+            long i = (long) r * cols + c;
+            long bit = 1L << i;
+            int w = (int) (i >>> 6);
+            if ((seen[w] & bit) != 0) {
+                problem = "visits " + str(cell) + " twice";
+                break;
+            }
+            seen[w] |= bit;
+            pr = r;
+            pc = c;
+        }
+        // Clear only the bits this path set
+        for (int k = 0; k < marked; k++) {
+            int[] cell = path.get(k);
+            long i = (long) cell[0] * cols + cell[1];
+            seen[(int) (i >>> 6)] &= ~(1L << i);
+        }
+        if (problem != null) return problem;
+        if (pr != end[0] || pc != end[1]) {
+            return "ends at {" + pr + ", " + pc + "}, not at end " + str(end);
+        }
+        return null;
+    }
+
+    /**
+     * Shortest start-to-end length in cells, or -1 if end is unreachable:
+     * a BFS over linear cell indices, run once and cached.
+     */
+    public int shortest() {
+        if (shortest != 0) return shortest;
+        int cells = rows * cols;
+        int[] dist = new int[cells];
+        int[] queue = new int[cells];
+        int head = 0, tail = 0;
+        int s = start[0] * cols + start[1];
+        int goal = end[0] * cols + end[1];
+        shortest = -1;
+        if (!isOpen(start[0], start[1])) return shortest;
+        dist[s] = 1;
+        queue[tail++] = s;
+        while (head < tail) {
+            int cur = queue[head++];
+            if (cur == goal) {
+                shortest = dist[cur];
+                break;
+            }
+            int r = cur / cols, c = cur - r * cols;
+            int d = dist[cur] + 1;
+            if (r > 0        && dist[cur - cols] == 0 && isOpen(r - 1, c)) { dist[cur - cols] = d; queue[tail++] = cur - cols; }
+            if (r < rows - 1 && dist[cur + cols] == 0 && isOpen(r + 1, c)) { dist[cur + cols] = d; queue[tail++] = cur + cols; }
+            if (c > 0        && dist[cur - 1] == 0    && isOpen(r, c - 1)) { dist[cur - 1] = d;    queue[tail++] = cur - 1; }
+            if (c < cols - 1 && dist[cur + 1] == 0    && isOpen(r, c + 1)) { dist[cur + 1] = d;    queue[tail++] = cur + 1; }
+        }
+        return shortest;
+    }
+
+    private boolean isOpen(int r, int c) {
+        return maze != null ? maze[r][c] == 1 : grid.isOpen(r, c);
+    }
+
+    private static String str(int[] cell) {
+        return "{" + cell[0] + ", " + cell[1] + "}";
+    }
+}
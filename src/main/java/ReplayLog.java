@@ -0,0 +1,372 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                       ReplayLog                             ║
+ * ║     Compact recording of what a solver explored, step by    ║
+ * ║     step, for --record / --replay                           ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * FILE LAYOUT (little-endian):
+ *   header  magic "MZRL", version, rows, cols, start r/c, end r/c,
+ *           solver name (length + UTF-8), then the maze as PackedGrid words
+ *   blocks  int stepCount, int rawLength, int compressedLength, data
+ *
+ * A block holds up to {@link #BLOCK_STEPS} steps, DEFLATE-compressed.
+ * Each step inside is: varint(number of cells), then one zigzag varint
+ * per cell with the DELTA of its linear index (row * cols + col) from
+ * the previous cell. Neighbouring steps touch neighbouring cells, so
+ * most deltas fit in one byte before compression. The delta chain
+ * restarts at every block, so every block decodes on its own.
+ *
+ * The final block has stepCount = -1 and holds the solver's path,
+ * encoded the same way as a single step.
+ *
+ * Recording never blocks the solver on compression or disk: finished
+ * blocks are handed to a background thread through a small bounded
+ * queue (it only waits if the disk falls several blocks behind).
+ */
+public final class ReplayLog {
+
+    static final int MAGIC = 0x4C525A4D; // "MZRL" read little-endian
+    static final int VERSION = 1;
+    static final int BLOCK_STEPS = 4096;
+    static final int BLOCK_BYTES = 1 << 16;
+    private static final int PATH_BLOCK = -1;
+
+    private ReplayLog() {
+    }
+
+    // ─────────────────────────────────────────────
+    //  WRITER
+    // ─────────────────────────────────────────────
+
+    /** Records a solve. record() is meant for the solver's own thread. */
+    public static final class Writer implements AutoCloseable {
+
+        private static final class Block {
+            final int steps;
+            final byte[] raw;
+            final int length;
+
+            Block(int steps, byte[] raw, int length) {
+                this.steps = steps;
+                this.raw = raw;
+                this.length = length;
+            }
+        }
+
+        private static final Block END = new Block(0, null, 0);
+
+        private final FileChannel channel;
+        private final int cols;
+        private final BlockingQueue<Block> queue = new ArrayBlockingQueue<>(8);
+        private final Thread flusher;
+        private volatile IOException failure;
+
+        private byte[] raw = new byte[BLOCK_BYTES + 64];
+        private int length;
+        private int steps;
+        private int prev;
+
+        public Writer(Path file, int[][] maze, int[] start, int[] end,
+                      String solverName) throws IOException {
+            this.cols = maze[0].length;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+            PackedGrid grid = PackedGrid.fromMaze(maze);
+            byte[] name = solverName.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer head = ByteBuffer.allocate(4 * 9 + name.length + grid.bits.length * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            head.putInt(MAGIC).putInt(VERSION).putInt(grid.rows).putInt(grid.cols)
+                    .putInt(start[0]).putInt(start[1]).putInt(end[0]).putInt(end[1])
+                    .putInt(name.length).put(name);
+            head.asLongBuffer().put(grid.bits);
+            head.position(head.capacity()).flip();
+            writeFully(head);
+
+            flusher = new Thread(this::flushLoop, "replay-writer");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+
+        /** Appends one step's visited cells. */
+        public void record(List<int[]> cells) throws IOException {
+            encode(cells);
+            if (++steps == BLOCK_STEPS || length >= BLOCK_BYTES) {
+                submit(steps);
+            }
+        }
+
+        /** Writes the final path and waits for everything to reach the disk. */
+        public void finish(List<int[]> path) throws IOException {
+            if (steps > 0) submit(steps);
+            encode(path != null ? path : new ArrayList<>());
+            submit(PATH_BLOCK);
+            close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (flusher.isAlive()) {
+                put(END);
+                try {
+                    flusher.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            channel.close();
+            if (failure != null) throw failure;
+        }
+
+        private void submit(int stepCount) throws IOException {
+            put(new Block(stepCount, raw, length));
+            raw = new byte[BLOCK_BYTES + 64];
+            length = 0;
+            steps = 0;
+            prev = 0;
+        }
+
+        private void put(Block block) throws IOException {
+            if (failure != null) throw failure;
+            try {
+                queue.put(block);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while recording", e);
+            }
+        }
+
+        /** Background thread: compress and write finished blocks in order. */
+        private void flushLoop() {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            byte[] out = new byte[BLOCK_BYTES * 2];
+            ByteBuffer head = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                while (true) {
+                    Block block = queue.take();
+                    if (block == END) break;
+
+                    deflater.reset();
+                    deflater.setInput(block.raw, 0, block.length);
+                    deflater.finish();
+                    int compressed = 0;
+                    while (!deflater.finished()) {
+                        if (compressed == out.length) out = Arrays.copyOf(out, out.length * 2);
+                        compressed += deflater.deflate(out, compressed, out.length - compressed);
+                    }
+
+                    head.clear();
+                    head.putInt(block.steps).putInt(block.length).putInt(compressed).flip();
+                    writeFully(head);
+                    writeFully(ByteBuffer.wrap(out, 0, compressed));
+                }
+            } catch (IOException e) {
+                failure = e;
+                queue.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        private void writeFully(ByteBuffer buf) throws IOException {
+            while (buf.hasRemaining()) channel.write(buf);
+        }
+
+        private void encode(List<int[]> cells) {
+            ensureRoom(5 + cells.size() * 5);
+            putVarint(cells.size());
+            for (int[] cell : cells) {
+                int idx = cell[0] * cols + cell[1];
+                putVarint(zigzag(idx - prev));
+                prev = idx;
+            }
+        }
+
+        private void ensureRoom(int bytes) {
+            if (length + bytes > raw.length) raw = Arrays.copyOf(raw, Math.max(raw.length * 2, length + bytes));
+        }
+
+        private void putVarint(int v) {
+            while ((v & ~0x7F) != 0) {
+                raw[length++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            raw[length++] = (byte) v;
+        }
+
+        private static int zigzag(int v) {
+            return (v << 1) ^ (v >> 31);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    //  READER
+    // ─────────────────────────────────────────────
+
+    /**
+     * Reads a log (up to 2 GB) through a memory map; steps are decoded on
+     * demand, one block at a time. Opening only walks the block headers (to
+     * count the steps and find the path); nothing is inflated until next().
+     */
+    public static final class Reader {
+
+        public final int[][] maze;
+        public final int[] start;
+        public final int[] end;
+        public final String solverName;
+        public final long totalSteps;
+
+        private final MappedByteBuffer map;
+        private final int cols;
+        private final int firstBlock;
+        private final List<int[]> path;
+
+        private final Inflater inflater = new Inflater();
+        private byte[] block = new byte[BLOCK_BYTES];
+        private int blockLength;
+        private int blockPos;
+        private int nextBlock;
+        private int prev;
+        private long nextStep;
+
+        public Reader(Path file) throws IOException {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            }
+            map.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (map.getInt() != MAGIC) throw new IOException(file + " is not a replay log");
+            int version = map.getInt();
+            if (version != VERSION) throw new IOException("Unsupported replay version " + version);
+            int rows = map.getInt();
+            cols = map.getInt();
+            start = new int[]{map.getInt(), map.getInt()};
+            end = new int[]{map.getInt(), map.getInt()};
+            byte[] name = new byte[map.getInt()];
+            map.get(name);
+            solverName = new String(name, StandardCharsets.UTF_8);
+
+            PackedGrid grid = new PackedGrid(rows, cols);
+            map.asLongBuffer().get(grid.bits);
+            map.position(map.position() + grid.bits.length * Long.BYTES);
+            maze = grid.toMaze();
+            firstBlock = map.position();
+
+            // ── Walk the block headers: step count and the path block ──
+            long steps = 0;
+            int pathBlock = -1;
+            while (map.remaining() >= 12) {
+                int pos = map.position();
+                int count = map.getInt();
+                map.getInt();
+                int compressed = map.getInt();
+                if (compressed < 0 || compressed > map.remaining()) {
+                    throw new IOException(file + ": replay block at " + pos + " is truncated");
+                }
+                map.position(map.position() + compressed);
+                if (count == PATH_BLOCK) pathBlock = pos;
+                else steps += count;
+            }
+            totalSteps = steps;
+
+            List<int[]> recordedPath = new ArrayList<>();
+            if (pathBlock >= 0) {
+                load(pathBlock);
+                for (int cell : decodeStep()) recordedPath.add(new int[]{cell / cols, cell % cols});
+            }
+            path = recordedPath;
+            nextBlock = firstBlock;
+            blockLength = 0;
+            blockPos = 0;
+        }
+
+        /** The path the solver reported, as recorded at the end of the solve. */
+        public List<int[]> getPath() {
+            return path;
+        }
+
+        /** Linear cell indices of the next step, or null after the last step. */
+        public int[] next() {
+            if (nextStep >= totalSteps) return null;
+            while (blockPos >= blockLength) nextBlock = load(nextBlock);
+            nextStep++;
+            return decodeStep();
+        }
+
+        /** Inflates the block at {@code offset}; returns the offset of the one after it. */
+        private int load(int offset) {
+            ByteBuffer view = map.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            view.position(offset);
+            view.getInt();
+            blockLength = view.getInt();
+            int compressed = view.getInt();
+            if (compressed < 0 || blockLength < 0 || compressed > view.remaining()) {
+                throw new IllegalStateException("Corrupt replay block at " + offset + ": truncated");
+            }
+            if (block.length < blockLength) block = new byte[blockLength];
+
+            view.limit(view.position() + compressed);
+            int after = view.limit();
+            inflater.reset();
+            inflater.setInput(view);
+            try {
+                int n = 0;
+                while (n < blockLength) {
+                    int got = inflater.inflate(block, n, blockLength - n);
+                    // Out of input (or at the end of the stream) short of blockLength:
+                    // a truncated block, e.g. from a --record that was killed
+                    if (got == 0 && (inflater.needsInput() || inflater.finished()
+                            || inflater.needsDictionary())) {
+                        throw new IllegalStateException("Corrupt replay block at " + offset +
+                                ": " + n + " of " + blockLength + " bytes");
+                    }
+                    n += got;
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt replay block at " + offset, e);
+            }
+            blockPos = 0;
+            prev = 0;
+            return after;
+        }
+
+        private int[] decodeStep() {
+            int[] cells = new int[readVarint()];
+            for (int i = 0; i < cells.length; i++) {
+                int z = readVarint();
+                prev += (z >>> 1) ^ -(z & 1);
+                cells[i] = prev;
+            }
+            return cells;
+        }
+
+        private int readVarint() {
+            int v = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = block[blockPos++];
+                v |= (b & 0x7F) << shift;
+                if (b >= 0) return v;
+            }
+        }
+    }
+}
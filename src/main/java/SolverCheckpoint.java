@@ -0,0 +1,213 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                    SolverCheckpoint                         ║
+ * ║        Compact binary snapshot of a solve in progress       ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * A checkpoint holds everything needed to continue a solve after a
+ * crash: the maze itself (one bit per cell), the start/end cells, the
+ * step counter and the solver's frontier, visited and parent state.
+ *
+ * All solver state is stored as primitive arrays of LINEAR indices
+ * (row * cols + col):
+ *   frontier  — cells waiting to be expanded, in solver order
+ *   visited   — bitset, bit i set when cell i has been visited
+ *   parents   — one entry per set bit of visited, in ascending bit
+ *               order: the linear index of that cell's parent, or -1
+ *
+ * FILE LAYOUT (big-endian):
+ *   header    magic, version, seed, steps, rows, cols, start, end,
+ *             solver class name, and the length of each array below
+ *   maze      long[]  open-cell bitset, row-major
+ *   frontier  int[]
+ *   visited   long[]
+ *   parents   int[]
+ *
+ * The sections are written with a single gathering write and read back
+ * with a single scattering read. Writes go to a temporary file that is
+ * then moved over the target, so a crash mid-write never leaves a
+ * truncated checkpoint behind.
+ */
+public final class SolverCheckpoint {
+
+    private static final int MAGIC   = 0x4D5A434B; // "MZCK"
+    private static final int VERSION = 1;
+
+    public String solverClass;
+    public long seed;
+    public long steps;
+    public int rows;
+    public int cols;
+    public int[] start;
+    public int[] end;
+
+    public long[] maze;
+    public int[] frontier;
+    public long[] visited;
+    public int[] parents;
+
+    // ─────────────────────────────────────────────
+    //  WRITE / READ
+    // ─────────────────────────────────────────────
+
+    /** Writes this checkpoint to {@code file}, replacing it atomically. */
+    public void write(Path file) throws IOException {
+        byte[] name = solverClass.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer header = ByteBuffer.allocate(headerSize(name.length));
+        header.putInt(MAGIC).putInt(VERSION)
+                .putLong(seed).putLong(steps)
+                .putInt(rows).putInt(cols)
+                .putInt(start[0]).putInt(start[1])
+                .putInt(end[0]).putInt(end[1])
+                .putInt(name.length).put(name)
+                .putInt(maze.length).putInt(frontier.length)
+                .putInt(visited.length).putInt(parents.length)
+                .flip();
+
+        ByteBuffer[] sections = {
+                header, toBuffer(maze), toBuffer(frontier),
+                toBuffer(visited), toBuffer(parents)
+        };
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long remaining = 0;
+            for (ByteBuffer b : sections) remaining += b.remaining();
+            while (remaining > 0) {
+                remaining -= ch.write(sections);
+            }
+            ch.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Reads a checkpoint previously written with {@link #write(Path)}. */
+    public static SolverCheckpoint read(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Fixed part of the header, up to and including the name length
+            ByteBuffer fixed = ByteBuffer.allocate(4 * 2 + 8 * 2 + 4 * 6 + 4);
+            readFully(ch, fixed);
+            if (fixed.getInt() != MAGIC) {
+                throw new IOException(file + " is not a solver checkpoint");
+            }
+            int version = fixed.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+
+            SolverCheckpoint cp = new SolverCheckpoint();
+            cp.seed  = fixed.getLong();
+            cp.steps = fixed.getLong();
+            cp.rows  = fixed.getInt();
+            cp.cols  = fixed.getInt();
+            cp.start = new int[]{fixed.getInt(), fixed.getInt()};
+            cp.end   = new int[]{fixed.getInt(), fixed.getInt()};
+
+            ByteBuffer rest = ByteBuffer.allocate(fixed.getInt() + 4 * 4);
+            readFully(ch, rest);
+            byte[] name = new byte[rest.capacity() - 4 * 4];
+            rest.get(name);
+            cp.solverClass = new String(name, StandardCharsets.UTF_8);
+
+            ByteBuffer[] sections = {
+                    ByteBuffer.allocate(rest.getInt() * Long.BYTES),
+                    ByteBuffer.allocate(rest.getInt() * Integer.BYTES),
+                    ByteBuffer.allocate(rest.getInt() * Long.BYTES),
+                    ByteBuffer.allocate(rest.getInt() * Integer.BYTES)
+            };
+            long remaining = 0;
+            for (ByteBuffer b : sections) remaining += b.remaining();
+            while (remaining > 0) {
+                long n = ch.read(sections);
+                if (n < 0) throw new IOException("Truncated checkpoint: " + file);
+                remaining -= n;
+            }
+            for (ByteBuffer b : sections) b.flip();
+
+            cp.maze = new long[sections[0].capacity() / Long.BYTES];
+            sections[0].asLongBuffer().get(cp.maze);
+            cp.frontier = new int[sections[1].capacity() / Integer.BYTES];
+            sections[1].asIntBuffer().get(cp.frontier);
+            cp.visited = new long[sections[2].capacity() / Long.BYTES];
+            sections[2].asLongBuffer().get(cp.visited);
+            cp.parents = new int[sections[3].capacity() / Integer.BYTES];
+            sections[3].asIntBuffer().get(cp.parents);
+            return cp;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    //  MAZE PACKING
+    // ─────────────────────────────────────────────
+
+    /** Packs a 0/1 maze into a row-major bitset (bit set = open cell). */
+    public static long[] packMaze(int[][] maze) {
+        int rows = maze.length, cols = maze[0].length;
+        long[] bits = new long[bitsetLength(rows * cols)];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (maze[r][c] == 1) {
+                    int i = r * cols + c;
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return bits;
+    }
+
+    /** Inverse of {@link #packMaze(int[][])}. */
+    public int[][] unpackMaze() {
+        int[][] grid = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int i = r * cols + c;
+                grid[r][c] = (int) (maze[i >>> 6] >>> i) & 1;
+            }
+        }
+        return grid;
+    }
+
+    /** Number of longs needed for a bitset of {@code cells} bits. */
+    public static int bitsetLength(int cells) {
+        return (cells + 63) >>> 6;
+    }
+
+    // ─────────────────────────────────────────────
+    //  HELPERS
+    // ─────────────────────────────────────────────
+
+    private static int headerSize(int nameLength) {
+        return 4 * 2 + 8 * 2 + 4 * 6 + 4 + nameLength + 4 * 4;
+    }
+
+    private static ByteBuffer toBuffer(long[] values) {
+        ByteBuffer b = ByteBuffer.allocate(values.length * Long.BYTES);
+        b.asLongBuffer().put(values);
+        return b;
+    }
+
+    private static ByteBuffer toBuffer(int[] values) {
+        ByteBuffer b = ByteBuffer.allocate(values.length * Integer.BYTES);
+        b.asIntBuffer().put(values);
+        return b;
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf) < 0) throw new IOException("Truncated checkpoint");
+        }
+        buf.flip();
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                       SolverPool                            ║
+ * ║     Reused solver instances for back-to-back solves         ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * A solver that has already solved a big maze holds visited/parent
+ * buffers grown to that size. Handing the same instance the next maze
+ * (after {@link MazeSolver#reset()}) skips allocating and zeroing
+ * multi-MB arrays again, and its code is already JIT-compiled.
+ *
+ * Idle instances are kept PER THREAD, so acquire/release never contend
+ * and an instance is never shared between threads. Solvers whose
+ * reset() returns false are simply dropped on release.
+ *
+ *   MazeSolver s = pool.acquire("BFSSolver");
+ *   try { ...init, step, getPath... } finally { pool.release("BFSSolver", s); }
+ */
+public final class SolverPool {
+
+    /** Idle instances kept per thread and solver name. */
+    private static final int MAX_IDLE = 4;
+
+    private final Function<String, MazeSolver> factory;
+    private final ThreadLocal<Map<String, ArrayDeque<MazeSolver>>> idle =
+            ThreadLocal.withInitial(HashMap::new);
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+
+    /** @param factory makes a new instance from a solver name */
+    public SolverPool(Function<String, MazeSolver> factory) {
+        this.factory = factory;
+    }
+
+    /** An idle instance of this thread, or a new one. */
+    public MazeSolver acquire(String name) {
+        ArrayDeque<MazeSolver> free = idle.get().get(name);
+        MazeSolver solver = free != null ? free.pollFirst() : null;
+        if (solver != null) {
+            reused.incrementAndGet();
+            return solver;
+        }
+        created.incrementAndGet();
+        return factory.apply(name);
+    }
+
+    /** Returns an instance acquired under {@code name} on this thread. */
+    public void release(String name, MazeSolver solver) {
+        if (!solver.reset()) return;
+        ArrayDeque<MazeSolver> free = idle.get().computeIfAbsent(name, n -> new ArrayDeque<>());
+        if (free.size() < MAX_IDLE) free.addFirst(solver);
+    }
+
+    public int getCreated() {
+        return created.get();
+    }
+
+    public int getReused() {
+        return reused.get();
+    }
+}
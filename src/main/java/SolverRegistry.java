@@ -0,0 +1,52 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                     SolverRegistry                          ║
+ * ║      Bundled solvers by name, without reflection            ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * The bundled solvers are listed in META-INF/services/MazeSolver and
+ * found with ServiceLoader. Looking them up this way needs no
+ * Class.forName, so it works unchanged in a GraalVM native image and
+ * is cheaper at startup. The providers are read once; create() makes a
+ * fresh instance every time.
+ *
+ * Solvers that are not listed (e.g. a student's own DFSSolver) are not
+ * found here; MazeManager.createSolver falls back to Class.forName.
+ */
+public final class SolverRegistry {
+
+    private static volatile Map<String, ServiceLoader.Provider<MazeSolver>> providers;
+
+    private SolverRegistry() {
+    }
+
+    /** A new instance of the bundled solver with this class name, or null. */
+    public static MazeSolver create(String className) {
+        ServiceLoader.Provider<MazeSolver> provider = providers().get(className);
+        return provider != null ? provider.get() : null;
+    }
+
+    /** Class names of all bundled solvers, in service-file order. */
+    public static Set<String> names() {
+        return providers().keySet();
+    }
+
+    private static Map<String, ServiceLoader.Provider<MazeSolver>> providers() {
+        Map<String, ServiceLoader.Provider<MazeSolver>> map = providers;
+        if (map == null) {
+            Map<String, ServiceLoader.Provider<MazeSolver>> found = new LinkedHashMap<>();
+            // stream() only resolves the classes; nothing is instantiated here
+            ServiceLoader.load(MazeSolver.class).stream()
+                    .forEach(p -> found.put(p.type().getName(), p));
+            map = Collections.unmodifiableMap(found);
+            providers = map;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,346 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════╗
+ * ║                    SolverSupervisor                         ║
+ * ║     Step, wall-clock and heap budgets for running solvers   ║
+ * ╚══════════════════════════════════════════════════════════════╝
+ *
+ * A solver that loops forever or grows without bound must not stall
+ * everybody else. Every supervised solve gets a {@link Watch}:
+ *
+ *   - the stepping thread calls watch.check(steps) after every step:
+ *     one compare and one volatile read, so the loop stays cheap. It
+ *     returns false once the solve is cancelled, and the thread stops
+ *     on its own (cooperative cancellation).
+ *   - one shared watchdog thread wakes every {@link #TICK_MILLIS} ms,
+ *     cancels solves past their deadline, and samples the heap ONCE per
+ *     tick from MemoryMXBean. If the heap stays above the limit across
+ *     a garbage collection, the solve whose thread allocated the most
+ *     is cancelled as OOM-RISK.
+ *   - a cancelled solve whose thread does not come back within
+ *     {@link #GRACE_MILLIS} ms is stuck inside step(): the watchdog
+ *     interrupts it and runs its onAbandon callback, so the caller can
+ *     publish the result and move on. The thread is left behind.
+ *
+ * Whoever settles a watch first (the stepping thread, or the watchdog
+ * abandoning it) publishes the result; see {@link Watch#settle()}.
+ */
+public final class SolverSupervisor {
+
+    public enum Status {
+        OK("OK"), TIMEOUT("TIMEOUT"), OOM_RISK("OOM-RISK"), ERROR("ERROR");
+
+        private final String label;
+
+        Status(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /** Default step budget: no sane solver explores one cell this many times. */
+    public static final int STEPS_PER_CELL = 64;
+
+    /** Default heap limit when no budget is given: this share of -Xmx. */
+    private static final double DEFAULT_HEAP_SHARE = 0.90;
+
+    static final long TICK_MILLIS = 20;
+    static final long GRACE_MILLIS = 1000;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final boolean PER_THREAD_ALLOCATION =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean;
+    private static final Set<Watch> ACTIVE = ConcurrentHashMap.newKeySet();
+    private static volatile Thread watchdog;
+
+    private final long maxSteps;
+    private final long timeoutNanos;
+    private final long heapLimit;
+
+    /**
+     * @param maxSteps      steps per solve, 0 = {@link #STEPS_PER_CELL} per maze cell
+     * @param timeoutMillis wall-clock time per solve, 0 = none
+     * @param heapBudget    heap growth allowed from now on in bytes,
+     *                      0 = up to 90% of the maximum heap
+     */
+    public SolverSupervisor(long maxSteps, long timeoutMillis, long heapBudget) {
+        this.maxSteps = maxSteps;
+        this.timeoutNanos = timeoutMillis * 1_000_000L;
+        long max = Runtime.getRuntime().maxMemory();
+        this.heapLimit = heapBudget > 0 ? MEMORY.getHeapMemoryUsage().getUsed() + heapBudget
+                : (long) (max * DEFAULT_HEAP_SHARE);
+    }
+
+    /** Starts watching a solve of a maze with {@code cells} cells run by the current thread. */
+    public Watch watch(String name, long cells) {
+        return watch(name, cells, Thread.currentThread());
+    }
+
+    /** Starts watching a solve run by {@code thread}. */
+    public Watch watch(String name, long cells, Thread thread) {
+        long steps = maxSteps > 0 ? maxSteps : Math.max(1024, STEPS_PER_CELL * cells);
+        Watch w = new Watch(name, thread, steps,
+                timeoutNanos > 0 ? System.nanoTime() + timeoutNanos : Long.MAX_VALUE, heapLimit);
+        ACTIVE.add(w);
+        startWatchdog();
+        return w;
+    }
+
+    // ─────────────────────────────────────────────
+    //  ONE SOLVE ON ITS OWN THREAD
+    // ─────────────────────────────────────────────
+
+    /** What came of a {@link #solve}. */
+    public static final class Outcome {
+        public final String name;
+        public volatile Status status = Status.OK;
+        public volatile String reason = "";
+        public volatile long steps;
+        public volatile long nanos;
+        public volatile List<int[]> path = Collections.emptyList();
+
+        Outcome(String name) {
+            this.name = name;
+        }
+
+        public boolean ok() {
+            return status == Status.OK;
+        }
+    }
+
+    /**
+     * Runs init() and steps {@code solver} to the end on a new daemon
+     * thread, and waits until it finishes or is cancelled. Returns even
+     * when step() never does. {@link Outcome#nanos} covers init() and
+     * stepping, measured on the solving thread.
+     */
+    public Outcome solve(MazeSolver solver, int[][] maze, int[] start, int[] end) {
+        Outcome out = new Outcome(solver.getName());
+        CountDownLatch finished = new CountDownLatch(1);
+        Watch[] watch = new Watch[1];
+        Thread t = new Thread(() -> {
+            Watch w = watch[0];
+            long t0 = System.nanoTime();
+            try {
+                solver.init(maze, start.clone(), end.clone());
+                long steps = 0;
+                boolean done = false;
+                while (!done && w.check(steps)) {
+                    done = solver.step();
+                    steps++;
+                }
+                if (w.settle()) {
+                    out.nanos = System.nanoTime() - t0;
+                    out.steps = steps;
+                    if (done) out.path = solver.getPath();
+                    out.status = w.getStatus();
+                    out.reason = w.getReason();
+                    finished.countDown();
+                }
+            } catch (Throwable e) {
+                w.fail(e);
+                if (w.settle()) {
+                    out.nanos = System.nanoTime() - t0;
+                    out.status = w.getStatus();
+                    out.reason = w.getReason();
+                    finished.countDown();
+                }
+            }
+        }, "supervised-" + solver.getName());
+        t.setDaemon(true);
+        watch[0] = watch(solver.getName(), (long) maze.length * maze[0].length, t);
+        watch[0].onAbandon(() -> {
+            out.status = watch[0].getStatus();
+            out.reason = watch[0].getReason() + ", stuck in step()";
+            finished.countDown();
+        });
+        t.start();
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            watch[0].cancel(Status.ERROR, "interrupted");
+        }
+        return out;
+    }
+
+    // ─────────────────────────────────────────────
+    //  WATCH
+    // ─────────────────────────────────────────────
+
+    /** One supervised solve. */
+    public static final class Watch {
+        final String name;
+        final Thread thread;
+        final long maxSteps;
+        final long deadline;
+        final long heapLimit;
+        final long allocatedAtStart;
+
+        private final AtomicReference<Status> status = new AtomicReference<>(Status.OK);
+        private volatile boolean cancelled;
+        private volatile String reason = "";
+        private volatile long cancelNanos;
+        private volatile Runnable onAbandon;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        Watch(String name, Thread thread, long maxSteps, long deadline, long heapLimit) {
+            this.name = name;
+            this.thread = thread;
+            this.maxSteps = maxSteps;
+            this.deadline = deadline;
+            this.heapLimit = heapLimit;
+            this.allocatedAtStart = allocatedBytes(thread);
+        }
+
+        /** Call after every step; false means stop stepping now. */
+        public boolean check(long steps) {
+            if (steps > maxSteps) cancel(Status.TIMEOUT, "step budget of " + maxSteps + " exceeded");
+            return !cancelled;
+        }
+
+        /** The solver threw: records it as ERROR. */
+        public void fail(Throwable e) {
+            cancel(Status.ERROR, String.valueOf(e));
+        }
+
+        /** Asks the solve to stop; the first reason given is kept. */
+        public void cancel(Status why, String reason) {
+            if (status.compareAndSet(Status.OK, why)) {
+                this.reason = reason;
+                this.cancelNanos = System.nanoTime();
+                this.cancelled = true;
+            }
+        }
+
+        /** Run by the watchdog if the thread does not stop within the grace period. */
+        public void onAbandon(Runnable callback) {
+            this.onAbandon = callback;
+        }
+
+        /**
+         * Ends the watch. Returns true exactly once: the caller that gets
+         * true publishes the result; after an abandon the stepping thread
+         * gets false and must not touch shared state any more.
+         */
+        public boolean settle() {
+            ACTIVE.remove(this);
+            return settled.compareAndSet(false, true);
+        }
+
+        public Status getStatus() {
+            return status.get();
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    //  WATCHDOG
+    // ─────────────────────────────────────────────
+
+    private static synchronized void startWatchdog() {
+        if (watchdog != null) return;
+        Thread t = new Thread(SolverSupervisor::watchLoop, "solver-watchdog");
+        t.setDaemon(true);
+        t.start();
+        watchdog = t;
+    }
+
+    private static void watchLoop() {
+        boolean overLastTick = false;
+        long gcsLastTick = 0;
+        while (true) {
+            try {
+                Thread.sleep(TICK_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (ACTIVE.isEmpty()) {
+                overLastTick = false;
+                continue;
+            }
+            long now = System.nanoTime();
+            long used = MEMORY.getHeapMemoryUsage().getUsed();
+            long gcs = collections();
+            Watch hog = null;
+            long hogBytes = -1;
+
+            for (Watch w : ACTIVE) {
+                if (w.cancelled) {
+                    abandonIfStuck(w, now);
+                    continue;
+                }
+                if (now > w.deadline) {
+                    w.cancel(Status.TIMEOUT, "wall-clock deadline passed");
+                    continue;
+                }
+                if (used > w.heapLimit) {
+                    long bytes = allocatedBytes(w.thread) - w.allocatedAtStart;
+                    if (bytes > hogBytes) {
+                        hog = w;
+                        hogBytes = bytes;
+                    }
+                }
+            }
+
+            // Over the limit on two ticks with a GC in between: it is live data, not
+            // garbage. A solve that allocated little is not to blame (its neighbour may
+            // be cancelled already but still referenced); without per-thread counts,
+            // the first one is picked.
+            boolean over = hog != null && (!PER_THREAD_ALLOCATION || hogBytes > used / 4);
+            if (over && overLastTick && gcs > gcsLastTick) {
+                hog.cancel(Status.OOM_RISK, String.format("heap at %d MB, over the %d MB limit",
+                        used >> 20, hog.heapLimit >> 20));
+                over = false;
+            }
+            if (over && !overLastTick) gcsLastTick = gcs;
+            overLastTick = over;
+        }
+    }
+
+    private static void abandonIfStuck(Watch w, long now) {
+        if (now - w.cancelNanos < GRACE_MILLIS * 1_000_000L) return;
+        if (!w.settle()) return;
+        w.thread.interrupt();
+        Runnable callback = w.onAbandon;
+        if (callback != null) callback.run();
+    }
+
+    private static long collections() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            n += Math.max(0, gc.getCollectionCount());
+        }
+        return n;
+    }
+
+    /** Bytes ever allocated by {@code t}, where the JVM can tell; 0 otherwise. */
+    private static long allocatedBytes(Thread t) {
+        if (!PER_THREAD_ALLOCATION) return 0;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long bytes = ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(t.getId());
+        return Math.max(0, bytes);
+    }
+}
@@ -0,0 +1,63 @@
+import java.util.Random;
+
+/**
+ * Wilson's algorithm: loop-erased random walks. Starting from a single
+ * cell in the maze, each remaining cell performs a random walk until it
+ * hits the maze; the walk (with its loops erased) is then carved in.
+ * Every spanning tree is equally likely, so unlike the backtracker it
+ * has no bias towards long corridors. Memory is one int per cell.
+ */
+public class WilsonGenerator implements MazeGenerator {
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    @Override
+    public int[][] generate(int size, Random rng) {
+        int[][] maze = new int[size][size];
+        int w = (size - 1) / 2;
+        int cells = w * w;
+
+        boolean[] inMaze = new boolean[cells];
+        int[] exit = new int[cells]; // direction the last walk left each cell by
+
+        int first = rng.nextInt(cells);
+        inMaze[first] = true;
+        maze[2 * (first / w) + 1][2 * (first % w) + 1] = 1;
+
+        for (int begin = 0; begin < cells; begin++) {
+            if (inMaze[begin]) continue;
+
+            // ── Random walk until we touch the maze, remembering the last exit ──
+            int cur = begin;
+            while (!inMaze[cur]) {
+                int y = cur / w, x = cur % w;
+                int d;
+                int ny, nx;
+                do {
+                    d = rng.nextInt(4);
+                    ny = y + DR[d];
+                    nx = x + DC[d];
+                } while (ny < 0 || ny >= w || nx < 0 || nx >= w);
+                exit[cur] = d;
+                cur = ny * w + nx;
+            }
+
+            // ── Replay the loop-erased walk and carve it ──
+            cur = begin;
+            while (!inMaze[cur]) {
+                int y = cur / w, x = cur % w, d = exit[cur];
+                inMaze[cur] = true;
+                maze[2 * y + 1][2 * x + 1] = 1;
+                maze[2 * y + 1 + DR[d]][2 * x + 1 + DC[d]] = 1;
+                cur = (y + DR[d]) * w + (x + DC[d]);
+            }
+        }
+        return maze;
+    }
+
+    @Override
+    public String getName() {
+        return "wilson";
+    }
+}
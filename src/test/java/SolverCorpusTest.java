@@ -0,0 +1,134 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Runs every solver on every maze of a corpus (see {@link MazeCorpus})
+ * and checks the path it returns:
+ *   - it starts at start, ends at end, and only moves between adjacent
+ *     open cells, never visiting a cell twice
+ *   - it is empty exactly when the maze has no path
+ *   - it has the reference length when the solver promises shortest paths,
+ *     or a memory-bounded solver reports that its result is exact
+ * and that ConnectivityIndex gives the same "is there a path" answer,
+ * and PathVerifier the same verdict as the checks above.
+ *
+ * By default a small corpus is generated into a temporary directory. To
+ * run against a bigger one made with --corpus, pass its directory:
+ *   ./gradlew test -Dmaze.corpus=corpus/
+ *
+ * Cases run in parallel (see junit-platform.properties).
+ */
+class SolverCorpusTest {
+
+    @TempDir
+    static Path tempDir;
+
+    private static List<MazeCorpus.Entry> corpus;
+
+    @BeforeAll
+    static void loadCorpus() throws Exception {
+        String dir = System.getProperty("maze.corpus");
+        if (dir != null) {
+            corpus = MazeCorpus.load(Paths.get(dir));
+        } else {
+            corpus = MazeCorpus.generate(tempDir, 120, new int[]{11, 21, 51, 101}, 42L,
+                    "backtracker", MazeManager.DEFAULT_REMOVAL_RATIO,
+                    Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    static Stream<Arguments> cases() {
+        // Every bundled solver (see SolverRegistry); the student templates are not listed
+        return SolverRegistry.names().stream().flatMap(solver ->
+                corpus.stream().map(entry -> Arguments.of(solver, entry)));
+    }
+
+    @ParameterizedTest(name = "{0} on {1}")
+    @MethodSource("cases")
+    void findsValidPath(String solverClass, MazeCorpus.Entry entry) throws Exception {
+        int[][] maze = entry.loadMaze();
+        int[] start = entry.start();
+        int[] end = entry.end();
+
+        MazeSolver solver = SolverRegistry.create(solverClass);
+        if (solver instanceof ParallelSolver) {
+            ((ParallelSolver) solver).setThreads(2); // the cases already run in parallel
+        }
+        solver.init(maze, start.clone(), end.clone());
+
+        // Every solver explores at most one cell per step, plus DFS backtracking
+        long limit = 2L * maze.length * maze.length + 10;
+        if (solver instanceof IDAStarSolver) limit *= maze.length; // once per iteration
+        long steps = 0;
+        while (!solver.step()) {
+            if (++steps > limit) fail(solver.getName() + " did not finish in " + limit + " steps");
+        }
+
+        List<int[]> path = solver.getPath();
+        PathVerifier.Report check = new PathVerifier(maze, start, end).verify(path, true);
+        assertEquals(entry.shortest, check.shortest, "verifier disagrees on the shortest length");
+        if (entry.shortest < 0) {
+            assertTrue(path.isEmpty(), "maze has no path, but the solver returned one");
+            return;
+        }
+        assertTrue(check.valid, "verifier rejects the path: " + check.problem);
+        assertTrue(!path.isEmpty(), "maze has a path, but the solver found none");
+        assertCell(start, path.get(0), "path must begin at start");
+        assertCell(end, path.get(path.size() - 1), "path must end at end");
+
+        Set<Integer> seen = new HashSet<>();
+        int[] prev = null;
+        for (int[] cell : path) {
+            assertEquals(1, maze[cell[0]][cell[1]], "path crosses a wall at " + str(cell));
+            assertTrue(seen.add(cell[0] * maze.length + cell[1]), "path revisits " + str(cell));
+            if (prev != null) {
+                int dist = Math.abs(cell[0] - prev[0]) + Math.abs(cell[1] - prev[1]);
+                assertEquals(1, dist, "path jumps from " + str(prev) + " to " + str(cell));
+            }
+            prev = cell;
+        }
+
+        boolean exact = solver instanceof MemoryBoundedSolver
+                && ((MemoryBoundedSolver) solver).isOptimal();
+        if (solver.guaranteesShortestPath() || exact) {
+            assertEquals(entry.shortest, path.size(), "path is not a shortest path");
+        } else {
+            assertTrue(path.size() >= entry.shortest, "path is shorter than the shortest path");
+        }
+    }
+
+    static Stream<MazeCorpus.Entry> entries() {
+        return corpus.stream();
+    }
+
+    /** The O(1) reachability answer agrees with the reference BFS. */
+    @ParameterizedTest(name = "ConnectivityIndex on {0}")
+    @MethodSource("entries")
+    void indexAgreesOnReachability(MazeCorpus.Entry entry) throws Exception {
+        int[][] maze = entry.loadMaze();
+        ConnectivityIndex index = ConnectivityIndex.build(maze, 2);
+        assertEquals(entry.shortest >= 0, index.isReachable(entry.start(), entry.end()),
+                "index disagrees with the reference shortest path");
+    }
+
+    private static void assertCell(int[] expected, int[] actual, String message) {
+        assertEquals(str(expected), str(actual), message);
+    }
+
+    private static String str(int[] cell) {
+        return "{" + cell[0] + ", " + cell[1] + "}";
+    }
+}